@@ -3,8 +3,11 @@ import homework.org.app.view.MainView;
 
 public class MainApp {
     public static void main(String[] args) {
+        long start = System.nanoTime();
         LiquiBaseUtill.applyMigrations();
-        new MainView().start();
+        MainView mainView = new MainView();
+        System.out.println("Приложение запущено за " + (System.nanoTime() - start) / 1_000_000 + " мс");
+        mainView.start();
     }
 
 }
@@ -1,6 +1,8 @@
 package homework.org.app.controller;
 
 import homework.org.app.model.Post;
+import homework.org.app.model.SearchPage;
+import homework.org.app.repository.SearchMode;
 import homework.org.app.service.PostService;
 import lombok.AllArgsConstructor;
 
@@ -19,6 +21,10 @@ public class PostController {
         return posts;
     }
 
+    public SearchPage<Post> search(String query, SearchMode mode, int offset, int limit) {
+        return postService.search(query, mode, offset, limit);
+    }
+
     public Post save(Post post) {
         return postService.save(post);
     }
@@ -0,0 +1,7 @@
+package homework.org.app.exception;
+
+public class BulkheadFullException extends RepositoryException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package homework.org.app.exception;
+
+public class ConnectionTimeoutException extends RepositoryException {
+    public ConnectionTimeoutException(String message) {
+        super(message);
+    }
+}
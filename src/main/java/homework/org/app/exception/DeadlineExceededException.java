@@ -0,0 +1,11 @@
+package homework.org.app.exception;
+
+public class DeadlineExceededException extends RepositoryException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
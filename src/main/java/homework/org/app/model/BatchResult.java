@@ -0,0 +1,18 @@
+package homework.org.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BatchResult<T> {
+
+    private final List<T> items;
+    private final List<Long> missingIds;
+
+    public boolean isComplete() {
+        return missingIds.isEmpty();
+    }
+}
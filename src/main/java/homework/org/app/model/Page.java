@@ -0,0 +1,18 @@
+package homework.org.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class Page<T> {
+
+    private final List<T> items;
+    private final Long nextAfterId;
+
+    public boolean hasNext() {
+        return nextAfterId != null;
+    }
+}
@@ -0,0 +1,18 @@
+package homework.org.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SearchPage<T> {
+
+    private final List<T> items;
+    private final Integer nextOffset;
+
+    public boolean hasNext() {
+        return nextOffset != null;
+    }
+}
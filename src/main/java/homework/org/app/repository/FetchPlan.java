@@ -0,0 +1,7 @@
+package homework.org.app.repository;
+
+public enum FetchPlan {
+    WRITERS_ONLY,
+    WITH_POSTS,
+    WITH_POSTS_AND_LABELS
+}
@@ -0,0 +1,6 @@
+package homework.org.app.repository;
+
+public enum FetchStrategy {
+    JOIN,
+    SEPARATE_QUERIES
+}
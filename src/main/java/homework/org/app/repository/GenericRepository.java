@@ -1,10 +1,16 @@
 package homework.org.app.repository;
 
+import homework.org.app.model.BatchResult;
+import homework.org.app.model.Page;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface GenericRepository<T, ID> {
     T getById(ID id);
     List<T> getAll();
+    BatchResult<T> getByIds(Collection<ID> ids);
+    Page<T> getPage(ID afterId, int limit);
     T save(T entity);
     T update(T entity);
     void deleteById(ID id);
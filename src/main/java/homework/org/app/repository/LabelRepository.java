@@ -1,6 +1,8 @@
 package homework.org.app.repository;
 
 import homework.org.app.model.Label;
+import homework.org.app.model.Page;
 
 public interface LabelRepository extends GenericRepository<Label, Long> {
+    Page<Label> getPage(Long afterId, int limit, String namePrefix);
 }
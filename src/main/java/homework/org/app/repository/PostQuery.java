@@ -0,0 +1,89 @@
+package homework.org.app.repository;
+
+import homework.org.app.model.Status;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+public class PostQuery {
+
+    public enum Field {
+        CONTENT,
+        CREATED,
+        UPDATED,
+        STATUS,
+        WRITER_ID,
+        LABELS
+    }
+
+    public enum Sort {
+        ID,
+        CREATED,
+        UPDATED
+    }
+
+    private Status status;
+    private Long writerId;
+    private Long labelId;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdBefore;
+    private Sort sort = Sort.ID;
+    private SortDirection direction = SortDirection.ASC;
+    private Integer limit;
+    private Set<Field> fields = EnumSet.allOf(Field.class);
+
+    public static PostQuery posts() {
+        return new PostQuery();
+    }
+
+    public PostQuery status(Status status) {
+        this.status = status;
+        return this;
+    }
+
+    public PostQuery writerId(Long writerId) {
+        this.writerId = writerId;
+        return this;
+    }
+
+    public PostQuery labelId(Long labelId) {
+        this.labelId = labelId;
+        return this;
+    }
+
+    public PostQuery createdFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+        return this;
+    }
+
+    public PostQuery createdBefore(LocalDateTime createdBefore) {
+        this.createdBefore = createdBefore;
+        return this;
+    }
+
+    public PostQuery orderBy(Sort sort, SortDirection direction) {
+        if (sort == null || direction == null) {
+            throw new IllegalArgumentException("Sort and direction must not be null");
+        }
+        this.sort = sort;
+        this.direction = direction;
+        return this;
+    }
+
+    public PostQuery limit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public PostQuery select(Field... fields) {
+        this.fields = fields.length == 0 ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(Arrays.asList(fields));
+        return this;
+    }
+}
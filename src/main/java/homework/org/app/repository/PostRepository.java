@@ -1,7 +1,22 @@
 package homework.org.app.repository;
 
+import homework.org.app.model.Page;
 import homework.org.app.model.Post;
+import homework.org.app.model.SearchPage;
+import homework.org.app.model.Status;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface PostRepository extends GenericRepository<Post, Long> {
+    Post getByIdForUpdate(Long id);
     Post updateWithLabels(Post post);
+    List<Post> saveAll(List<Post> posts);
+    Page<Post> getPage(Long afterId, int limit, Status status);
+    List<Post> find(PostQuery query);
+    Page<Post> findByLabel(Long labelId, Long afterId, int limit);
+    Page<Post> findByWriter(Long writerId, Status status, Long afterId, int limit);
+    SearchPage<Post> search(String query, SearchMode mode, int offset, int limit);
+    Stream<Post> streamAll();
+    Stream<Post> streamAll(int fetchSize);
 }
@@ -0,0 +1,16 @@
+package homework.org.app.repository;
+
+public enum SearchMode {
+    NATURAL_LANGUAGE("IN NATURAL LANGUAGE MODE"),
+    BOOLEAN("IN BOOLEAN MODE");
+
+    private final String modifier;
+
+    SearchMode(String modifier) {
+        this.modifier = modifier;
+    }
+
+    public String getModifier() {
+        return modifier;
+    }
+}
@@ -0,0 +1,6 @@
+package homework.org.app.repository;
+
+public enum SortDirection {
+    ASC,
+    DESC
+}
@@ -0,0 +1,95 @@
+package homework.org.app.repository;
+
+import homework.org.app.model.Status;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+public class WriterQuery {
+
+    public enum Field {
+        FIRSTNAME,
+        LASTNAME
+    }
+
+    public enum Sort {
+        ID,
+        FIRSTNAME,
+        LASTNAME
+    }
+
+    private Long writerId;
+    private String lastnamePrefix;
+    private Status postStatus;
+    private Long labelId;
+    private LocalDateTime postCreatedFrom;
+    private LocalDateTime postCreatedBefore;
+    private Sort sort = Sort.ID;
+    private SortDirection direction = SortDirection.ASC;
+    private Integer limit;
+    private Set<Field> fields = EnumSet.allOf(Field.class);
+
+    public static WriterQuery writers() {
+        return new WriterQuery();
+    }
+
+    public WriterQuery writerId(Long writerId) {
+        this.writerId = writerId;
+        return this;
+    }
+
+    public WriterQuery lastnamePrefix(String lastnamePrefix) {
+        this.lastnamePrefix = lastnamePrefix;
+        return this;
+    }
+
+    public WriterQuery postStatus(Status postStatus) {
+        this.postStatus = postStatus;
+        return this;
+    }
+
+    public WriterQuery labelId(Long labelId) {
+        this.labelId = labelId;
+        return this;
+    }
+
+    public WriterQuery postCreatedFrom(LocalDateTime postCreatedFrom) {
+        this.postCreatedFrom = postCreatedFrom;
+        return this;
+    }
+
+    public WriterQuery postCreatedBefore(LocalDateTime postCreatedBefore) {
+        this.postCreatedBefore = postCreatedBefore;
+        return this;
+    }
+
+    public WriterQuery orderBy(Sort sort, SortDirection direction) {
+        if (sort == null || direction == null) {
+            throw new IllegalArgumentException("Sort and direction must not be null");
+        }
+        this.sort = sort;
+        this.direction = direction;
+        return this;
+    }
+
+    public WriterQuery limit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public WriterQuery select(Field... fields) {
+        this.fields = fields.length == 0 ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(Arrays.asList(fields));
+        return this;
+    }
+
+    public boolean hasPostFilter() {
+        return postStatus != null || labelId != null || postCreatedFrom != null || postCreatedBefore != null;
+    }
+}
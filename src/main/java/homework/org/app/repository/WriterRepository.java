@@ -1,9 +1,18 @@
 package homework.org.app.repository;
 
+import homework.org.app.model.Page;
 import homework.org.app.model.Writer;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface WriterRepository extends GenericRepository<Writer, Long> {
+    Writer getById(Long id, FetchPlan plan);
+    List<Writer> getAll(FetchPlan plan);
     Writer findByName(String firstName, String lastName) throws SQLException;
+    Page<Writer> getPage(Long afterId, int limit, String lastnamePrefix);
+    List<Writer> find(WriterQuery query);
+    Stream<Writer> streamAll();
+    Stream<Writer> streamAll(int fetchSize);
 }
@@ -0,0 +1,96 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.BatchResult;
+import homework.org.app.util.PropertiesUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+final class BatchQueries {
+
+    private static final String CHUNK_SIZE_KEY = "db.batch.chunkSize";
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final String INSERT_BATCH_SIZE_KEY = "db.batch.insertSize";
+    private static final int DEFAULT_INSERT_BATCH_SIZE = 500;
+
+    private BatchQueries() {
+    }
+
+    static int getChunkSize() {
+        return Math.max(1, PropertiesUtil.getInt(CHUNK_SIZE_KEY, DEFAULT_CHUNK_SIZE));
+    }
+
+    static int getInsertBatchSize() {
+        return Math.max(1, PropertiesUtil.getInt(INSERT_BATCH_SIZE_KEY, DEFAULT_INSERT_BATCH_SIZE));
+    }
+
+    static <ID> List<ID> distinctIds(Collection<ID> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs must not be null");
+        }
+        Set<ID> distinct = new LinkedHashSet<>();
+        for (ID id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("IDs must not contain null");
+            }
+            distinct.add(id);
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    static <T> List<List<T>> chunk(List<T> items, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    static int placeholderCount(int size, int chunkSize) {
+        int count = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        return Math.min(count, chunkSize);
+    }
+
+    static String withPlaceholders(String template, int count) {
+        StringJoiner placeholders = new StringJoiner(", ");
+        for (int i = 0; i < count; i++) {
+            placeholders.add("?");
+        }
+        return template.formatted(placeholders);
+    }
+
+    static String withRows(String template, String row, int count) {
+        StringJoiner rows = new StringJoiner(", ");
+        for (int i = 0; i < count; i++) {
+            rows.add(row);
+        }
+        return template.formatted(rows);
+    }
+
+    static Object[] padded(List<Long> chunk, int count) {
+        Object[] params = new Object[count];
+        for (int i = 0; i < count; i++) {
+            params[i] = chunk.get(Math.min(i, chunk.size() - 1));
+        }
+        return params;
+    }
+
+    static <T> BatchResult<T> inRequestedOrder(Collection<Long> requested, Map<Long, T> found) {
+        List<T> items = new ArrayList<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : requested) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchResult<>(items, new ArrayList<>(missing));
+    }
+}
@@ -0,0 +1,77 @@
+package homework.org.app.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+final class CriteriaSql {
+
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    String compile(String shape, Supplier<String> sql) {
+        return cache.computeIfAbsent(shape, key -> sql.get());
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    static int indexOf(ResultSet resultSet, String column) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (metaData.getColumnLabel(i).equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    static final class Conditions {
+
+        private final List<String> clauses = new ArrayList<>();
+        private final List<Object> params = new ArrayList<>();
+        private final StringBuilder shape = new StringBuilder();
+
+        Conditions add(String clause, Object value) {
+            shape.append(value == null ? '-' : '+');
+            if (value != null) {
+                clauses.add(clause);
+                params.add(value instanceof LocalDateTime time ? Timestamp.valueOf(time) : value);
+            }
+            return this;
+        }
+
+        Conditions nest(String template, Conditions inner) {
+            shape.append('(').append(inner.shape).append(')');
+            if (!inner.clauses.isEmpty()) {
+                clauses.add(template.formatted(String.join(" AND ", inner.clauses)));
+                params.addAll(inner.params);
+            }
+            return this;
+        }
+
+        Conditions shape(Object part) {
+            shape.append('|').append(part);
+            return this;
+        }
+
+        String where() {
+            return clauses.isEmpty() ? "" : "WHERE " + String.join(" AND ", clauses) + "\n";
+        }
+
+        List<Object> params() {
+            return params;
+        }
+
+        String shape() {
+            return shape.toString();
+        }
+    }
+}
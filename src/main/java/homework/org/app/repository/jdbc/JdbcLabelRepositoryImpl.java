@@ -1,23 +1,29 @@
 package homework.org.app.repository.jdbc;
 
 import homework.org.app.exception.RepositoryException;
+import homework.org.app.model.BatchResult;
 import homework.org.app.model.Label;
+import homework.org.app.model.Page;
 import homework.org.app.repository.LabelRepository;
-import homework.org.app.util.ConnectionManager;
+import homework.org.app.util.ConnectionProvider;
+import homework.org.app.util.Lane;
 import lombok.AllArgsConstructor;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import static homework.org.app.util.ConnectionPoolManager.*;
+import static homework.org.app.util.ConnectionPoolManager.likePrefix;
+import static homework.org.app.util.ConnectionPoolManager.setParameters;
 
 @AllArgsConstructor
 public class JdbcLabelRepositoryImpl implements LabelRepository {
 
-    private final ConnectionManager connectionManager;
+    private final ConnectionProvider connectionProvider;
 
     private static final String DELETE_SQL = """
             DELETE FROM label
@@ -29,6 +35,22 @@ public class JdbcLabelRepositoryImpl implements LabelRepository {
     private static final String GET_ALL_SQL = """
             SELECT * FROM label;
             """;
+    private static final String GET_PAGE_SQL = """
+            SELECT id, name FROM label
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?;
+            """;
+    private static final String GET_PAGE_BY_NAME_SQL = """
+            SELECT id, name FROM label
+            WHERE id > ? AND name LIKE ?
+            ORDER BY id
+            LIMIT ?;
+            """;
+    private static final String GET_BY_IDS_SQL_TEMPLATE = """
+            SELECT id, name FROM label
+            WHERE id IN (%s);
+            """;
     private static final String UPDATE_SQL = """
             UPDATE label SET name = ?
             WHERE id = ?;
@@ -40,13 +62,16 @@ public class JdbcLabelRepositoryImpl implements LabelRepository {
 
     @Override
     public Label getById(Long id) {
-        try (var prepStatement = connectionManager.prepareStatement(GET_BY_ID_SQL);
-             var resultSet = setParametersAndExecuteQuery(prepStatement, id)
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ);
+             var prepStatement = connection.prepareStatement(GET_BY_ID_SQL)
         ) {
-             if (resultSet.next()) {
-                 return mapRowToLabel(resultSet);
-             }
-             return null;
+            setParameters(prepStatement, id);
+            try (var resultSet = prepStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    return LabelRowMapper.of(resultSet).map(resultSet);
+                }
+                return null;
+            }
         } catch (SQLException e) {
             throw new RepositoryException("Failed to get label id" + id, e);
         }
@@ -55,11 +80,13 @@ public class JdbcLabelRepositoryImpl implements LabelRepository {
     @Override
     public List<Label> getAll() {
         List<Label> result = new ArrayList<>();
-        try (var prepStatement = createStatement();
-             var resultSet = prepStatement.executeQuery(GET_ALL_SQL);
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ);
+             var prepStatement = connection.prepareStatement(GET_ALL_SQL);
+             var resultSet = prepStatement.executeQuery()
         ) {
+            LabelRowMapper labelMapper = LabelRowMapper.of(resultSet);
             while (resultSet.next()) {
-                result.add(mapRowToLabel(resultSet));
+                result.add(labelMapper.map(resultSet));
             }
         } catch (SQLException e) {
             throw new RepositoryException("Failed to get all labels " , e);
@@ -67,9 +94,73 @@ public class JdbcLabelRepositoryImpl implements LabelRepository {
         return result;
     }
 
+    @Override
+    public BatchResult<Label> getByIds(Collection<Long> ids) {
+        List<Long> distinct = BatchQueries.distinctIds(ids);
+        Map<Long, Label> found = new HashMap<>();
+        if (!distinct.isEmpty()) {
+            int chunkSize = BatchQueries.getChunkSize();
+            try (var connection = connectionProvider.getConnection(Lane.OLTP_READ)) {
+                for (List<Long> chunk : BatchQueries.chunk(distinct, chunkSize)) {
+                    int count = BatchQueries.placeholderCount(chunk.size(), chunkSize);
+                    try (var prepStatement = connection.prepareStatement(
+                            BatchQueries.withPlaceholders(GET_BY_IDS_SQL_TEMPLATE, count))) {
+                        setParameters(prepStatement, BatchQueries.padded(chunk, count));
+                        try (var resultSet = prepStatement.executeQuery()) {
+                            LabelRowMapper labelMapper = LabelRowMapper.of(resultSet);
+                            while (resultSet.next()) {
+                                Label label = labelMapper.map(resultSet);
+                                found.put(label.getId(), label);
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RepositoryException("Failed to get labels by ids", e);
+            }
+        }
+        return BatchQueries.inRequestedOrder(ids, found);
+    }
+
+    @Override
+    public Page<Label> getPage(Long afterId, int limit) {
+        return getPage(afterId, limit, null);
+    }
+
+    @Override
+    public Page<Label> getPage(Long afterId, int limit, String namePrefix) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        long after = afterId == null ? 0 : afterId;
+        List<Label> result = new ArrayList<>();
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ);
+             var prepStatement = connection.prepareStatement(namePrefix == null ? GET_PAGE_SQL : GET_PAGE_BY_NAME_SQL)) {
+            if (namePrefix == null) {
+                setParameters(prepStatement, after, limit + 1);
+            } else {
+                setParameters(prepStatement, after, likePrefix(namePrefix), limit + 1);
+            }
+            try (var resultSet = prepStatement.executeQuery()) {
+                LabelRowMapper labelMapper = LabelRowMapper.of(resultSet);
+                while (resultSet.next()) {
+                    result.add(labelMapper.map(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to get labels page after id " + afterId, e);
+        }
+        if (result.size() <= limit) {
+            return new Page<>(result, null);
+        }
+        List<Label> items = new ArrayList<>(result.subList(0, limit));
+        return new Page<>(items, items.get(limit - 1).getId());
+    }
+
     @Override
     public Label save(Label label) {
-        try (var prepStatement = connectionManager.prepareStatement(SAVE_LABEL_SQL,
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             var prepStatement = connection.prepareStatement(SAVE_LABEL_SQL,
                      Statement.RETURN_GENERATED_KEYS)) {
             setParameters(prepStatement, label.getName());
             prepStatement.executeUpdate();
@@ -86,7 +177,8 @@ public class JdbcLabelRepositoryImpl implements LabelRepository {
 
     @Override
     public Label update(Label label) {
-        try (var prepStatement = connectionManager.prepareStatement(UPDATE_SQL)) {
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             var prepStatement = connection.prepareStatement(UPDATE_SQL)) {
             setParameters(prepStatement, label.getName(), label.getId());;
             int affectedRows = prepStatement.executeUpdate();
             if (affectedRows == 0) {
@@ -100,23 +192,12 @@ public class JdbcLabelRepositoryImpl implements LabelRepository {
 
     @Override
     public void deleteById(Long id){
-        try (var prepStatement = connectionManager.prepareStatement(DELETE_SQL)) {
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             var prepStatement = connection.prepareStatement(DELETE_SQL)) {
             setParameters(prepStatement, id);
             prepStatement.executeUpdate();
         } catch (SQLException e) {
             throw new RepositoryException("Failed to delete label id" + id, e);
         }
     }
-
-    private Label mapRowToLabel(ResultSet resultSet) {
-        try {
-            Label label = new Label();
-            label.setId(resultSet.getLong("id"));
-            label.setName(resultSet.getString("name"));
-            return label;
-        } catch (SQLException e) {
-            throw new RepositoryException("Failed to map ResulTset to Label ", e);
-        }
-    }
 }
-
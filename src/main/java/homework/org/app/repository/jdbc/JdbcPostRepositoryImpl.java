@@ -1,35 +1,49 @@
 package homework.org.app.repository.jdbc;
 
 import homework.org.app.exception.RepositoryException;
+import homework.org.app.model.BatchResult;
 import homework.org.app.model.Label;
+import homework.org.app.model.Page;
 import homework.org.app.model.Post;
+import homework.org.app.model.SearchPage;
 import homework.org.app.model.Status;
-import homework.org.app.model.Writer;
+import homework.org.app.repository.FetchStrategy;
+import homework.org.app.repository.PostQuery;
 import homework.org.app.repository.PostRepository;
-import homework.org.app.util.ConnectionManager;
+import homework.org.app.repository.SearchMode;
+import homework.org.app.util.ConnectionProvider;
+import homework.org.app.util.Lane;
+import homework.org.app.util.LongLivedBorrow;
+import homework.org.app.util.PropertiesUtil;
 import lombok.AllArgsConstructor;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Timestamp;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static homework.org.app.util.ConnectionPoolManager.prepareStatement;
 import static homework.org.app.util.ConnectionPoolManager.setParameters;
 
 @AllArgsConstructor
 public class JdbcPostRepositoryImpl implements PostRepository {
 
-    private final ConnectionManager connectionManager;
+    private final ConnectionProvider connectionProvider;
+    private final FetchStrategy fetchStrategy;
+
+    private static final String STREAM_FETCH_SIZE_KEY = "db.stream.fetchSize";
+    private static final int DEFAULT_STREAM_FETCH_SIZE = 500;
+    private static final String FETCH_STRATEGY_KEY = "db.fetch.strategy";
 
     private static final String DELETE_SQL = """
             UPDATE post SET status = 'DELETED' 
             WHERE id = ? AND status != 'DELETED';
             """;
-    private static final String DELETE_POST_LABEL = """
-            DELETE FROM post_label WHERE post_id = ?
+    private static final String DELETE_POST_LABELS_SQL_TEMPLATE = """
+            DELETE FROM post_label WHERE post_id = ? AND label_id IN (%s)
             """;
     private static final String INSERT_POST_LABEL = """
             INSERT INTO post_label (post_id, label_id) VALUES (?, ?)
@@ -38,6 +52,11 @@ public class JdbcPostRepositoryImpl implements PostRepository {
             INSERT INTO post (content, status, writer_id) 
             VALUES (?, ?, ?);
             """;
+    private static final String SAVE_ALL_SQL_TEMPLATE = """
+            INSERT INTO post (content, status, writer_id)
+            VALUES %s;
+            """;
+    private static final String SAVE_ALL_ROW = "(?, ?, ?)";
     private static final String SAVE_POST_LABEL_SQL = """
             INSERT INTO post_label(post_id, label_id)
             values (?, ?);
@@ -48,6 +67,10 @@ public class JdbcPostRepositoryImpl implements PostRepository {
             LEFT JOIN post_label pl ON p.id = pl.post_id
             LEFT JOIN label l ON  pl.label_id = l.id
             """;
+    private static final String GET_BY_IDS_SQL_TEMPLATE = GET_ALL_SQL + """
+            WHERE p.id IN (%s)
+            ORDER BY p.id
+            """;
     private static final String UPDATE_SQL = """
             UPDATE post SET content = ?, updated = CURRENT_TIMESTAMP, status = ?
             WHERE id = ?;
@@ -55,16 +78,110 @@ public class JdbcPostRepositoryImpl implements PostRepository {
     private static final String GET_BY_ID_SQL = GET_ALL_SQL + """
             WHERE p.id = ?;
             """;
-    private static final String SELECT_ID_FROM_LABEL_ID = """
-            SELECT l.id, l.name FROM label l
-            JOIN post_label pl ON l.id = pl.label_id
-            WHERE pl.post_id = ?;
+    private static final String LOCK_BY_ID_SQL = """
+            SELECT id FROM post
+            WHERE id = ?
+            FOR UPDATE;
+            """;
+    private static final String SELECT_LABEL_IDS_BY_POST_ID = """
+            SELECT label_id FROM post_label
+            WHERE post_id = ?;
+            """;
+    private static final String PAGE_SQL_TEMPLATE = """
+            SELECT p.id, p.content, p.created, p.updated, p.status, p.writer_id, l.id as label_id, l.name as label_name
+            FROM (
+                SELECT id, content, created, updated, status, writer_id FROM post
+                WHERE id > ?%s
+                ORDER BY id
+                LIMIT ?
+            ) p
+            LEFT JOIN post_label pl ON p.id = pl.post_id
+            LEFT JOIN label l ON pl.label_id = l.id
+            ORDER BY p.id
+            """;
+    private static final String STREAM_ALL_SQL = GET_ALL_SQL + """
+            ORDER BY p.id
+            """;
+    private static final String GET_PAGE_SQL = PAGE_SQL_TEMPLATE.formatted("");
+    private static final String GET_PAGE_BY_STATUS_SQL = PAGE_SQL_TEMPLATE.formatted(" AND status = ?");
+    private static final String SELECT_POSTS_SQL = """
+            SELECT id, content, created, updated, status, writer_id FROM post
+            """;
+    private static final String SELECT_ALL_POSTS_SQL = SELECT_POSTS_SQL + """
+            ORDER BY id
+            """;
+    private static final String SELECT_POST_BY_ID_SQL = SELECT_POSTS_SQL + """
+            WHERE id = ?
+            """;
+    private static final String SELECT_POSTS_BY_IDS_SQL_TEMPLATE = SELECT_POSTS_SQL + """
+            WHERE id IN (%s)
+            ORDER BY id
+            """;
+    private static final String SELECT_POSTS_PAGE_SQL_TEMPLATE = SELECT_POSTS_SQL + """
+            WHERE id > ?%s
+            ORDER BY id
+            LIMIT ?
             """;
-    private static final String SELECT_LABELS_BY_POST_ID = """
-            SELECT l.id, l.name FROM label l
-            JOIN post_label pl ON l.id = pl.label_id
-            WHERE pl.post_id = ?
+    private static final String SELECT_POSTS_PAGE_SQL = SELECT_POSTS_PAGE_SQL_TEMPLATE.formatted("");
+    private static final String SELECT_POSTS_PAGE_BY_STATUS_SQL = SELECT_POSTS_PAGE_SQL_TEMPLATE.formatted(" AND status = ?");
+    private static final String SELECT_POST_LABELS_SQL = """
+            SELECT pl.post_id, l.id as label_id, l.name as label_name
+            FROM post_label pl
+            JOIN label l ON pl.label_id = l.id
             """;
+    private static final String SELECT_POST_LABELS_BY_POST_IDS_SQL_TEMPLATE = SELECT_POST_LABELS_SQL + """
+            WHERE pl.post_id IN (%s)
+            """;
+    static final String SELECT_POSTS_BY_LABEL_PAGE_SQL = """
+            SELECT p.id, p.content, p.created, p.updated, p.status, p.writer_id
+            FROM post_label pl
+            JOIN post p ON p.id = pl.post_id
+            WHERE pl.label_id = ? AND pl.post_id > ?
+            ORDER BY pl.post_id
+            LIMIT ?
+            """;
+    private static final String SELECT_POSTS_BY_WRITER_PAGE_SQL_TEMPLATE = SELECT_POSTS_SQL + """
+            WHERE writer_id = ?%s AND id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+    static final String SELECT_POSTS_BY_WRITER_PAGE_SQL =
+            SELECT_POSTS_BY_WRITER_PAGE_SQL_TEMPLATE.formatted("");
+    static final String SELECT_POSTS_BY_WRITER_AND_STATUS_PAGE_SQL =
+            SELECT_POSTS_BY_WRITER_PAGE_SQL_TEMPLATE.formatted(" AND status = ?");
+    private static final String JOIN_LABELS_SQL_TEMPLATE = """
+            SELECT p.id, p.content, p.created, p.updated, p.status, p.writer_id, l.id as label_id, l.name as label_name
+            FROM (
+            %s) p
+            LEFT JOIN post_label pl ON p.id = pl.post_id
+            LEFT JOIN label l ON pl.label_id = l.id
+            ORDER BY p.id
+            """;
+    private static final String GET_BY_LABEL_PAGE_SQL = JOIN_LABELS_SQL_TEMPLATE.formatted(
+            SELECT_POSTS_BY_LABEL_PAGE_SQL);
+    private static final String GET_BY_WRITER_PAGE_SQL = JOIN_LABELS_SQL_TEMPLATE.formatted(
+            SELECT_POSTS_BY_WRITER_PAGE_SQL);
+    private static final String GET_BY_WRITER_AND_STATUS_PAGE_SQL = JOIN_LABELS_SQL_TEMPLATE.formatted(
+            SELECT_POSTS_BY_WRITER_AND_STATUS_PAGE_SQL);
+    private static final String SEARCH_SQL_TEMPLATE = """
+            SELECT p.id, p.content, p.created, p.updated, p.status, p.writer_id,
+                   MATCH(p.content) AGAINST (? %1$s) AS relevance
+            FROM post p
+            WHERE MATCH(p.content) AGAINST (? %1$s)
+            ORDER BY relevance DESC, p.id
+            LIMIT ? OFFSET ?
+            """;
+    private static final Map<SearchMode, String> SEARCH_SQL = new EnumMap<>(Map.of(
+            SearchMode.NATURAL_LANGUAGE, SEARCH_SQL_TEMPLATE.formatted(SearchMode.NATURAL_LANGUAGE.getModifier()),
+            SearchMode.BOOLEAN, SEARCH_SQL_TEMPLATE.formatted(SearchMode.BOOLEAN.getModifier())));
+
+    private static final String LABEL_ID_CONDITION =
+            "EXISTS (SELECT 1 FROM post_label pl WHERE pl.post_id = p.id AND pl.label_id = ?)";
+    private static final CriteriaSql CRITERIA_SQL = new CriteriaSql();
+
+    public JdbcPostRepositoryImpl(ConnectionProvider connectionProvider) {
+        this(connectionProvider, defaultFetchStrategy());
+    }
 
 
     @Override
@@ -72,32 +189,262 @@ public class JdbcPostRepositoryImpl implements PostRepository {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
         }
-        try (var prepStatement = connectionManager.prepareStatement(GET_BY_ID_SQL)) {
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ)) {
+            List<Post> posts = queryPosts(connection, GET_BY_ID_SQL, SELECT_POST_BY_ID_SQL, id);
+            return posts.isEmpty() ? null : posts.get(0);
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to get post id" + id, e);
+        }
+    }
+
+    @Override
+    public Post getByIdForUpdate(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             var prepStatement = connection.prepareStatement(LOCK_BY_ID_SQL)) {
             setParameters(prepStatement, id);
-            var resultSet = prepStatement.executeQuery();
-            if (!resultSet.isBeforeFirst()) {
-                return null;
+            try (var resultSet = prepStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
             }
-            return mapRowToPost(resultSet);
+            return getById(id);
         } catch (SQLException e) {
-            throw new RepositoryException("Failed to get post id" + id, e);
+            throw new RepositoryException("Failed to lock post id " + id, e);
         }
     }
 
     @Override
     public List<Post> getAll() {
-        try(var prepStatement = connectionManager.prepareStatement(GET_ALL_SQL);
-            var resultSet = prepStatement.executeQuery()
-        ) {
-            return mapResultSetToPosts(resultSet);
+        try (var connection = connectionProvider.getConnection(Lane.SCAN)) {
+            if (fetchStrategy == FetchStrategy.JOIN) {
+                return queryPosts(connection, GET_ALL_SQL, null);
+            }
+            Map<Long, Post> posts = queryPostHeads(connection, SELECT_ALL_POSTS_SQL);
+            try (var prepStatement = connection.prepareStatement(SELECT_POST_LABELS_SQL);
+                 var resultSet = prepStatement.executeQuery()) {
+                appendLabels(posts, resultSet);
+            }
+            return new ArrayList<>(posts.values());
         } catch (SQLException e) {
             throw new RepositoryException("Failed to get all posts " , e);
         }
     }
 
+    @Override
+    public List<Post> find(PostQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query must not be null");
+        }
+        CriteriaSql.Conditions conditions = new CriteriaSql.Conditions()
+                .add("p.status = ?", query.getStatus() == null ? null : query.getStatus().name())
+                .add("p.writer_id = ?", query.getWriterId())
+                .add(LABEL_ID_CONDITION, query.getLabelId())
+                .add("p.created >= ?", query.getCreatedFrom())
+                .add("p.created < ?", query.getCreatedBefore())
+                .shape(query.getSort())
+                .shape(query.getDirection())
+                .shape(query.getLimit() != null)
+                .shape(query.getFields());
+        String sql = CRITERIA_SQL.compile(conditions.shape(), () -> compile(query, conditions));
+        List<Object> params = new ArrayList<>(conditions.params());
+        if (query.getLimit() != null) {
+            params.add(query.getLimit());
+        }
+        try (var connection = connectionProvider.getConnection(query.getLimit() == null ? Lane.SCAN : Lane.OLTP_READ)) {
+            Map<Long, Post> posts = new LinkedHashMap<>();
+            try (var prepStatement = connection.prepareStatement(sql)) {
+                setParameters(prepStatement, params.toArray());
+                try (var resultSet = prepStatement.executeQuery()) {
+                    PostRowMapper postMapper = PostRowMapper.projected(resultSet);
+                    while (resultSet.next()) {
+                        Post post = postMapper.map(resultSet);
+                        posts.put(post.getId(), post);
+                    }
+                }
+            }
+            if (query.getFields().contains(PostQuery.Field.LABELS)) {
+                queryLabels(connection, posts);
+            }
+            return new ArrayList<>(posts.values());
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to find posts", e);
+        }
+    }
+
+    static int compiledQueryCount() {
+        return CRITERIA_SQL.size();
+    }
+
+    private static String compile(PostQuery query, CriteriaSql.Conditions conditions) {
+        StringBuilder sql = new StringBuilder("SELECT p.id");
+        for (PostQuery.Field field : query.getFields()) {
+            if (field != PostQuery.Field.LABELS) {
+                sql.append(", p.").append(field.name().toLowerCase());
+            }
+        }
+        String direction = query.getDirection().name();
+        sql.append("\nFROM post p\n")
+           .append(conditions.where())
+           .append("ORDER BY p.").append(query.getSort().name().toLowerCase()).append(' ').append(direction);
+        if (query.getSort() != PostQuery.Sort.ID) {
+            sql.append(", p.id ").append(direction);
+        }
+        if (query.getLimit() != null) {
+            sql.append("\nLIMIT ?");
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public Stream<Post> streamAll() {
+        return streamAll(PropertiesUtil.getInt(STREAM_FETCH_SIZE_KEY, DEFAULT_STREAM_FETCH_SIZE));
+    }
+
+    @Override
+    public Stream<Post> streamAll(int fetchSize) {
+        Connection connection = null;
+        PreparedStatement prepStatement = null;
+        try {
+            connection = connectionProvider.getConnection(Lane.SCAN);
+            LongLivedBorrow.exemptFromLeakDetection(connection);
+            prepStatement = connection.prepareStatement(STREAM_ALL_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            prepStatement.setFetchSize(fetchSize);
+            ResultSet resultSet = prepStatement.executeQuery();
+            PostRowMapper postMapper = PostRowMapper.of(resultSet);
+            LabelRowMapper labelMapper = LabelRowMapper.of(resultSet, "label_id", "label_name");
+            return ResultSetStreams.groupConsecutive(resultSet, "id", postMapper::map,
+                    (post, row) -> appendLabel(post, labelMapper.map(row)),
+                    resultSet, prepStatement, connection);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                ResultSetStreams.closeAll(prepStatement, connection);
+            } catch (RepositoryException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw new RepositoryException("Failed to stream posts", e);
+        }
+    }
+
+    @Override
+    public BatchResult<Post> getByIds(Collection<Long> ids) {
+        List<Long> distinct = BatchQueries.distinctIds(ids);
+        Map<Long, Post> found = new HashMap<>();
+        if (!distinct.isEmpty()) {
+            int chunkSize = BatchQueries.getChunkSize();
+            try (var connection = connectionProvider.getConnection(Lane.OLTP_READ)) {
+                for (List<Long> chunk : BatchQueries.chunk(distinct, chunkSize)) {
+                    int count = BatchQueries.placeholderCount(chunk.size(), chunkSize);
+                    List<Post> posts = queryPosts(connection,
+                            BatchQueries.withPlaceholders(GET_BY_IDS_SQL_TEMPLATE, count),
+                            BatchQueries.withPlaceholders(SELECT_POSTS_BY_IDS_SQL_TEMPLATE, count),
+                            BatchQueries.padded(chunk, count));
+                    for (Post post : posts) {
+                        found.put(post.getId(), post);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RepositoryException("Failed to get posts by ids", e);
+            }
+        }
+        return BatchQueries.inRequestedOrder(ids, found);
+    }
+
+    @Override
+    public Page<Post> getPage(Long afterId, int limit) {
+        return getPage(afterId, limit, null);
+    }
+
+    @Override
+    public Page<Post> getPage(Long afterId, int limit, Status status) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        long after = afterId == null ? 0 : afterId;
+        Object[] params = status == null
+                ? new Object[]{after, limit + 1}
+                : new Object[]{after, status.name(), limit + 1};
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ)) {
+            List<Post> posts = status == null
+                    ? queryPosts(connection, GET_PAGE_SQL, SELECT_POSTS_PAGE_SQL, params)
+                    : queryPosts(connection, GET_PAGE_BY_STATUS_SQL, SELECT_POSTS_PAGE_BY_STATUS_SQL, params);
+            return toPage(posts, limit);
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to get posts page after id " + afterId, e);
+        }
+    }
+
+    @Override
+    public Page<Post> findByLabel(Long labelId, Long afterId, int limit) {
+        if (labelId == null) {
+            throw new IllegalArgumentException("Label ID must not be null");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        long after = afterId == null ? 0 : afterId;
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ)) {
+            List<Post> posts = queryPosts(connection, GET_BY_LABEL_PAGE_SQL, SELECT_POSTS_BY_LABEL_PAGE_SQL,
+                    labelId, after, limit + 1);
+            return toPage(posts, limit);
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to find posts by label " + labelId, e);
+        }
+    }
+
+    @Override
+    public Page<Post> findByWriter(Long writerId, Status status, Long afterId, int limit) {
+        if (writerId == null) {
+            throw new IllegalArgumentException("Writer ID must not be null");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        long after = afterId == null ? 0 : afterId;
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ)) {
+            List<Post> posts = status == null
+                    ? queryPosts(connection, GET_BY_WRITER_PAGE_SQL, SELECT_POSTS_BY_WRITER_PAGE_SQL,
+                            writerId, after, limit + 1)
+                    : queryPosts(connection, GET_BY_WRITER_AND_STATUS_PAGE_SQL,
+                            SELECT_POSTS_BY_WRITER_AND_STATUS_PAGE_SQL, writerId, status.name(), after, limit + 1);
+            return toPage(posts, limit);
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to find posts by writer " + writerId, e);
+        }
+    }
+
+    @Override
+    public SearchPage<Post> search(String query, SearchMode mode, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("Search mode must not be null");
+        }
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Offset must not be negative and limit must be positive");
+        }
+        String text = query.trim();
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ)) {
+            Map<Long, Post> posts = queryPostHeads(connection, SEARCH_SQL.get(mode), text, text, limit + 1, offset);
+            queryLabels(connection, posts);
+            List<Post> items = new ArrayList<>(posts.values());
+            if (items.size() <= limit) {
+                return new SearchPage<>(items, null);
+            }
+            return new SearchPage<>(new ArrayList<>(items.subList(0, limit)), offset + limit);
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to search posts for '" + query + "'", e);
+        }
+    }
+
     @Override
     public Post save(Post post) {
-        try (var preparedStatement = connectionManager.prepareStatement(SAVE_POST_SQL,
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             var preparedStatement = connection.prepareStatement(SAVE_POST_SQL,
                      Statement.RETURN_GENERATED_KEYS)) {
             setParameters(preparedStatement, post.getContent(),
                     post.getStatus().name(),
@@ -106,7 +453,7 @@ public class JdbcPostRepositoryImpl implements PostRepository {
             try (var keys = preparedStatement.getGeneratedKeys()){
                 if (keys.next()) {
                     post.setId(keys.getLong(1));
-                    savePostLabels(post);
+                    savePostLabels(connection, post);
                     return post;
                 }
             }
@@ -116,9 +463,97 @@ public class JdbcPostRepositoryImpl implements PostRepository {
         }
     }
 
-    private void savePostLabels(Post post) {
+    @Override
+    public List<Post> saveAll(List<Post> posts) {
+        if (posts == null) {
+            throw new IllegalArgumentException("Posts must not be null");
+        }
+        for (Post post : posts) {
+            if (post == null || post.getWriter() == null || post.getStatus() == null) {
+                throw new IllegalArgumentException("Post, its writer and status must not be null");
+            }
+        }
+        if (posts.isEmpty()) {
+            return posts;
+        }
+        try (var connection = connectionProvider.getConnection(Lane.WRITE)) {
+            boolean ownTransaction = connection.getAutoCommit();
+            if (ownTransaction) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                int batchSize = BatchQueries.getInsertBatchSize();
+                for (List<Post> batch : BatchQueries.chunk(posts, batchSize)) {
+                    insertPosts(connection, batch);
+                }
+                savePostLabels(connection, posts);
+                if (ownTransaction) {
+                    connection.commit();
+                }
+                return posts;
+            } catch (SQLException | RuntimeException e) {
+                if (ownTransaction) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (ownTransaction) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to save " + posts.size() + " posts", e);
+        }
+    }
+
+    private void insertPosts(Connection connection, List<Post> batch) throws SQLException {
+        Object[] params = new Object[batch.size() * 3];
+        for (int i = 0; i < batch.size(); i++) {
+            Post post = batch.get(i);
+            params[i * 3] = post.getContent();
+            params[i * 3 + 1] = post.getStatus().name();
+            params[i * 3 + 2] = post.getWriter().getId();
+        }
+        try (var prepStatement = connection.prepareStatement(
+                BatchQueries.withRows(SAVE_ALL_SQL_TEMPLATE, SAVE_ALL_ROW, batch.size()),
+                Statement.RETURN_GENERATED_KEYS)) {
+            setParameters(prepStatement, params);
+            prepStatement.executeUpdate();
+            try (var keys = prepStatement.getGeneratedKeys()) {
+                for (Post post : batch) {
+                    if (!keys.next()) {
+                        throw new SQLException("Expected " + batch.size() + " generated keys");
+                    }
+                    post.setId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    private void savePostLabels(Connection connection, List<Post> posts) throws SQLException {
+        try (var prepStatement = connection.prepareStatement(SAVE_POST_LABEL_SQL)) {
+            boolean pending = false;
+            for (Post post : posts) {
+                if (post.getLabels() == null) {
+                    continue;
+                }
+                for (Label label : post.getLabels()) {
+                    if (label != null && label.getId() != null) {
+                        setParameters(prepStatement, post.getId(), label.getId());
+                        prepStatement.addBatch();
+                        pending = true;
+                    }
+                }
+            }
+            if (pending) {
+                prepStatement.executeBatch();
+            }
+        }
+    }
+
+    private void savePostLabels(Connection connection, Post post) {
         if (post.getLabels() != null && !post.getLabels().isEmpty()) {
-            try (var prepStatement = connectionManager.prepareStatement(SAVE_POST_LABEL_SQL)){
+            try (var prepStatement = connection.prepareStatement(SAVE_POST_LABEL_SQL)){
                 for (Label label: post.getLabels()) {
                     if (label != null && label.getId() != null) {
                         setParameters(prepStatement, post.getId(), label.getId());
@@ -134,7 +569,8 @@ public class JdbcPostRepositoryImpl implements PostRepository {
 
     @Override
     public void deleteById(Long id) {
-        try (var prepStatement = connectionManager.prepareStatement(DELETE_SQL)) {
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             var prepStatement = connection.prepareStatement(DELETE_SQL)) {
             setParameters(prepStatement, id);
             prepStatement.executeUpdate();
         } catch (SQLException e) {
@@ -146,14 +582,26 @@ public class JdbcPostRepositoryImpl implements PostRepository {
         if (post == null || post.getId() == null) {
             throw new IllegalArgumentException("Post and ID must not be null");
         }
-        update(post);
-        updatePostLabels(post);
+        try (var connection = connectionProvider.getConnection(Lane.WRITE)) {
+            update(connection, post);
+            updatePostLabels(connection, post);
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to update post_label " + post, e);
+        }
         return post;
     }
 
     @Override
     public Post update(Post post) {
-        try (var prepStatement = connectionManager.prepareStatement(UPDATE_SQL)){
+        try (var connection = connectionProvider.getConnection(Lane.WRITE)) {
+            return update(connection, post);
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to update post " + post, e);
+        }
+    }
+
+    private Post update(Connection connection, Post post) {
+        try (var prepStatement = connection.prepareStatement(UPDATE_SQL)){
             setParameters(prepStatement,
                     post.getContent(),
                     post.getStatus().name(),
@@ -169,134 +617,163 @@ public class JdbcPostRepositoryImpl implements PostRepository {
         }
     }
 
-    private void updatePostLabels(Post post) {
-        List<Label> currentLabelsId = getCurrentLabelsId(post.getId());
+    private void updatePostLabels(Connection connection, Post post) {
+        if (post.getLabels() == null) {
+            return;
+        }
+        Set<Long> currentLabelIds = getCurrentLabelIds(connection, post.getId());
 
-        List<Long> newLabelsId = post.getLabels().stream()
+        Set<Long> newLabelIds = post.getLabels().stream()
                 .filter(Objects::nonNull)
                 .map(Label::getId)
                 .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
 
-        if (currentLabelsId.equals(newLabelsId)) {
+        if (currentLabelIds.equals(newLabelIds)) {
             return;
         }
-        try (var deleteStatement = connectionManager.prepareStatement(
-                DELETE_POST_LABEL)) {
-            setParameters(deleteStatement, post.getId());
-            deleteStatement.executeUpdate();
-        } catch (SQLException e) {
-            throw new RepositoryException("Failed to update post_label " + post);
+        List<Long> removed = currentLabelIds.stream()
+                .filter(labelId -> !newLabelIds.contains(labelId))
+                .toList();
+        List<Long> added = newLabelIds.stream()
+                .filter(labelId -> !currentLabelIds.contains(labelId))
+                .toList();
+
+        if (!removed.isEmpty()) {
+            try (var deleteStatement = connection.prepareStatement(
+                    BatchQueries.withPlaceholders(DELETE_POST_LABELS_SQL_TEMPLATE, removed.size()))) {
+                List<Object> params = new ArrayList<>(removed.size() + 1);
+                params.add(post.getId());
+                params.addAll(removed);
+                setParameters(deleteStatement, params.toArray());
+                deleteStatement.executeUpdate();
+            } catch (SQLException e) {
+                throw new RepositoryException("Failed to delete post_label " + post, e);
+            }
         }
 
-        if (!newLabelsId.isEmpty()) {
-            try (var insertStatement = prepareStatement(
+        if (!added.isEmpty()) {
+            try (var insertStatement = connection.prepareStatement(
                     INSERT_POST_LABEL)) {
-                for (Long labelId : newLabelsId) {
+                for (Long labelId : added) {
                     setParameters(insertStatement, post.getId(), labelId);
                     insertStatement.addBatch();
                 }
                 insertStatement.executeBatch();
             } catch (SQLException e) {
-                throw new RepositoryException("Failed to insert post_label " + post);
+                throw new RepositoryException("Failed to insert post_label " + post, e);
             }
         }
     }
 
-    private List<Label> getCurrentLabelsId(Long postId) {
-        List<Label> labels = new ArrayList<>();
-        try (var prepStatement = connectionManager.prepareStatement(SELECT_ID_FROM_LABEL_ID)){
+    private Set<Long> getCurrentLabelIds(Connection connection, Long postId) {
+        Set<Long> labelIds = new HashSet<>();
+        try (var prepStatement = connection.prepareStatement(SELECT_LABEL_IDS_BY_POST_ID)){
             setParameters(prepStatement, postId);
-            ResultSet rs = prepStatement.executeQuery();
-            while (rs.next()) {
-                labels.add(new Label(rs.getLong("id"), rs.getString("name")));
+            try (ResultSet rs = prepStatement.executeQuery()) {
+                while (rs.next()) {
+                    labelIds.add(rs.getLong(1));
+                }
             }
-            return labels;
+            return labelIds;
         } catch (SQLException e) {
-            throw new RepositoryException("Failed to get label id" + postId, e);
+            throw new RepositoryException("Failed to get label ids for post " + postId, e);
+        }
+    }
+
+    private List<Post> queryPosts(Connection connection, String joinSql, String postsSql, Object... params)
+            throws SQLException {
+        if (fetchStrategy == FetchStrategy.JOIN) {
+            try (var prepStatement = connection.prepareStatement(joinSql)) {
+                setParameters(prepStatement, params);
+                try (var resultSet = prepStatement.executeQuery()) {
+                    return mapResultSetToPosts(resultSet);
+                }
+            }
+        }
+        Map<Long, Post> posts = queryPostHeads(connection, postsSql, params);
+        queryLabels(connection, posts);
+        return new ArrayList<>(posts.values());
+    }
+
+    private void queryLabels(Connection connection, Map<Long, Post> posts) throws SQLException {
+        List<Long> ids = new ArrayList<>(posts.keySet());
+        int chunkSize = BatchQueries.getChunkSize();
+        for (List<Long> chunk : BatchQueries.chunk(ids, chunkSize)) {
+            int count = BatchQueries.placeholderCount(chunk.size(), chunkSize);
+            try (var prepStatement = connection.prepareStatement(
+                    BatchQueries.withPlaceholders(SELECT_POST_LABELS_BY_POST_IDS_SQL_TEMPLATE, count))) {
+                setParameters(prepStatement, BatchQueries.padded(chunk, count));
+                try (var resultSet = prepStatement.executeQuery()) {
+                    appendLabels(posts, resultSet);
+                }
+            }
+        }
+    }
+
+    private Map<Long, Post> queryPostHeads(Connection connection, String sql, Object... params) throws SQLException {
+        Map<Long, Post> posts = new LinkedHashMap<>();
+        try (var prepStatement = connection.prepareStatement(sql)) {
+            setParameters(prepStatement, params);
+            try (var resultSet = prepStatement.executeQuery()) {
+                PostRowMapper postMapper = PostRowMapper.of(resultSet);
+                while (resultSet.next()) {
+                    Post post = postMapper.map(resultSet);
+                    posts.put(post.getId(), post);
+                }
+            }
         }
+        return posts;
+    }
+
+    private void appendLabels(Map<Long, Post> posts, ResultSet resultSet) throws SQLException {
+        int postId = resultSet.findColumn("post_id");
+        LabelRowMapper labelMapper = LabelRowMapper.of(resultSet, "label_id", "label_name");
+        while (resultSet.next()) {
+            Post post = posts.get(resultSet.getLong(postId));
+            if (post != null) {
+                appendLabel(post, labelMapper.map(resultSet));
+            }
+        }
+    }
+
+    private static FetchStrategy defaultFetchStrategy() {
+        var value = PropertiesUtil.get(FETCH_STRATEGY_KEY);
+        return value == null || value.isBlank()
+                ? FetchStrategy.SEPARATE_QUERIES
+                : FetchStrategy.valueOf(value.trim().toUpperCase());
+    }
+
+    private Page<Post> toPage(List<Post> posts, int limit) {
+        if (posts.size() <= limit) {
+            return new Page<>(posts, null);
+        }
+        List<Post> items = new ArrayList<>(posts.subList(0, limit));
+        return new Page<>(items, items.get(limit - 1).getId());
     }
 
     private List<Post> mapResultSetToPosts(ResultSet resultSet) throws SQLException {
         Map<Long, Post> postMap = new LinkedHashMap<>();
+        PostRowMapper postMapper = PostRowMapper.of(resultSet);
+        LabelRowMapper labelMapper = LabelRowMapper.of(resultSet, "label_id", "label_name");
 
         while (resultSet.next()) {
-            Long postId = resultSet.getLong("id");
+            long postId = postMapper.getId(resultSet);
 
             Post post = postMap.get(postId);
             if (post == null) {
-                post = new Post();
-                post.setId(postId);
-                post.setContent(resultSet.getString("content"));
-                post.setCreated(resultSet.getTimestamp("created")
-                                         .toLocalDateTime());
-
-                Timestamp updated = resultSet.getTimestamp("updated");
-                if (updated != null) {
-                    post.setUpdated(updated.toLocalDateTime());
-                }
-
-                post.setStatus(Status.valueOf(resultSet.getString("status")));
-
-                Writer writer = new Writer();
-                writer.setId(resultSet.getLong("writer_id"));
-                post.setWriter(writer);
-
-                post.setLabels(new ArrayList<>());
+                post = postMapper.map(resultSet);
                 postMap.put(postId, post);
             }
-            long labelId = resultSet.getLong("label_id");
-            if (!resultSet.wasNull()) {
-                Label label = new Label();
-                label.setId(labelId);
-                label.setName(resultSet.getString("label_name"));
-                post.getLabels()
-                    .add(label);
-            }
+            appendLabel(post, labelMapper.map(resultSet));
         }
 
         return new ArrayList<>(postMap.values());
     }
 
-    private Post mapRowToPost(ResultSet resultSet) {
-        try {
-            if (!resultSet.next()) {
-                return null;
-            }
-            Post post = new Post();
-            post.setId(resultSet.getLong("id"));
-            post.setContent(resultSet.getString("content"));
-            post.setCreated(resultSet.getTimestamp("created").toLocalDateTime());
-            Timestamp updated = resultSet.getTimestamp("updated");
-            if (updated != null) {
-                post.setUpdated(updated.toLocalDateTime());
-            }
-            post.setStatus(Status.valueOf(resultSet.getString("status")));
-            Writer writer = new Writer();
-            writer.setId(resultSet.getLong("writer_id"));
-            post.setWriter(writer);
-            List<Label> labels = new ArrayList<>();
-
-            long labelId = resultSet.getLong("label_id");
-            if (!resultSet.wasNull()) {
-                Label label = new Label();
-                label.setId(labelId);
-                label.setName(resultSet.getString("label_name"));
-                labels.add(label);
-            }
-            while (resultSet.next()) {
-                labelId = resultSet.getLong("label_id");
-                if (!resultSet.wasNull()) {
-                    Label label = new Label();
-                    label.setId(labelId);
-                    label.setName(resultSet.getString("label_name"));
-                    labels.add(label);
-                }
-            }
-            post.setLabels(labels);
-            return post;
-        } catch (SQLException e) {
-            throw new RepositoryException("Failed to map ResulTset to Post ", e);
+    private void appendLabel(Post post, Label label) {
+        if (label != null) {
+            post.getLabels().add(label);
         }
     }
 }
@@ -2,27 +2,45 @@ package homework.org.app.repository.jdbc;
 
 import homework.org.app.exception.NotFoundException;
 import homework.org.app.exception.RepositoryException;
+import homework.org.app.model.BatchResult;
 import homework.org.app.model.Label;
+import homework.org.app.model.Page;
 import homework.org.app.model.Post;
-import homework.org.app.model.Status;
 import homework.org.app.model.Writer;
+import homework.org.app.repository.FetchPlan;
+import homework.org.app.repository.WriterQuery;
 import homework.org.app.repository.WriterRepository;
-import homework.org.app.util.ConnectionManager;
+import homework.org.app.util.ConnectionProvider;
+import homework.org.app.util.Lane;
+import homework.org.app.util.LongLivedBorrow;
+import homework.org.app.util.PropertiesUtil;
 import lombok.AllArgsConstructor;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import static homework.org.app.util.ConnectionPoolManager.likePrefix;
 import static homework.org.app.util.ConnectionPoolManager.setParameters;
 
 @AllArgsConstructor
 public class JdbcWriterRepositoryImpl implements WriterRepository {
 
-    private final ConnectionManager connectionManager;
+    private final ConnectionProvider connectionProvider;
+
+    private static final CriteriaSql CRITERIA_SQL = new CriteriaSql();
+
+    private static final String STREAM_FETCH_SIZE_KEY = "db.stream.fetchSize";
+    private static final int DEFAULT_STREAM_FETCH_SIZE = 500;
 
     private static final String DELETE_SQL = """
             DELETE FROM writer 
@@ -33,8 +51,8 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
             VALUES (?, ?);
             """;
     private static final String SAVE_POST_SQL = """
-            INSERT INTO post (content, writer_id) 
-            VALUES (?, ?);
+            INSERT INTO post (content, status, writer_id) 
+            VALUES (?, ?, ?);
             """;
     private static final String SAVE_POST_LABEL_SQL = """
             INSERT INTO post_label(post_id, label_id)
@@ -50,76 +68,260 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
             FROM writer w
             LEFT JOIN post p ON w.id = p.writer_id
             """;
+    private static final String GET_BY_IDS_SQL_TEMPLATE = GET_ALL_SQL + """
+            WHERE w.id IN (%s)
+            ORDER BY w.id, p.id
+            """;
     private static final String UPDATE_SQL = """
             UPDATE writer SET firstname = ?, lastname = ?
             WHERE id = ?;
             """;
-    private static final String GET_BY_ID_SQL = GET_ALL_SQL + """       
-            WHERE w.id = ?;
+    private static final String PAGE_SQL_TEMPLATE = """
+            SELECT w.id as writer_id, w.firstname, w.lastname,
+                   p.id as post_id,
+                   p.content,
+                   p.created,
+                   p.updated,
+                   p.status
+            FROM (
+                SELECT id, firstname, lastname FROM writer
+                WHERE id > ?%s
+                ORDER BY id
+                LIMIT ?
+            ) w
+            LEFT JOIN post p ON w.id = p.writer_id
+            ORDER BY w.id, p.id
+            """;
+    private static final String STREAM_ALL_SQL = GET_ALL_SQL + """
+            ORDER BY w.id, p.id
+            """;
+    private static final String GET_PAGE_SQL = PAGE_SQL_TEMPLATE.formatted("");
+    private static final String GET_PAGE_BY_LASTNAME_SQL = PAGE_SQL_TEMPLATE.formatted(" AND lastname LIKE ?");
+    private static final String SELECT_WRITERS_SQL = """
+            SELECT id as writer_id, firstname, lastname
+            FROM writer
+            """;
+    private static final String SELECT_WRITER_POSTS_SQL = """
+            SELECT id as post_id, writer_id, content, created, updated, status
+            FROM post
+            """;
+    private static final String SELECT_WRITER_POST_LABELS_SQL = """
+            SELECT pl.post_id, l.id as label_id, l.name as label_name
+            FROM post_label pl
+            JOIN label l ON l.id = pl.label_id
+            """;
+    private static final String SELECT_ALL_WRITERS_SQL = SELECT_WRITERS_SQL + """
+            ORDER BY id
+            """;
+    private static final String SELECT_WRITER_BY_ID_SQL = SELECT_WRITERS_SQL + """
+            WHERE id = ?
+            """;
+    private static final String SELECT_ALL_WRITER_POSTS_SQL = SELECT_WRITER_POSTS_SQL + """
+            ORDER BY writer_id, id
+            """;
+    private static final String SELECT_POSTS_BY_WRITER_ID_SQL = SELECT_WRITER_POSTS_SQL + """
+            WHERE writer_id = ?
+            ORDER BY id
+            """;
+    private static final String SELECT_ALL_WRITER_POST_LABELS_SQL = SELECT_WRITER_POST_LABELS_SQL + """
+            ORDER BY pl.post_id, l.id
+            """;
+    private static final String SELECT_POST_LABELS_BY_WRITER_ID_SQL = SELECT_WRITER_POST_LABELS_SQL + """
+            JOIN post p ON p.id = pl.post_id
+            WHERE p.writer_id = ?
+            ORDER BY pl.post_id, l.id
             """;
     private static final String FIND_BY_NAME_SQL = """
-            SELECT * FROM writer 
-            WHERE firstname = ? AND lastname = ? 
+            SELECT id as writer_id, firstname, lastname FROM writer
+            WHERE firstname = ? AND lastname = ?
             LIMIT 1;
             """;
 
 
     @Override
     public Writer getById(Long id) {
+        return getById(id, FetchPlan.WITH_POSTS);
+    }
+
+    @Override
+    public Writer getById(Long id, FetchPlan plan) {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
         }
-        Writer writer = null;
-        List<Post> posts = new ArrayList<>();
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ)) {
+            List<Writer> writers = loadGraph(connection, plan, id);
+            return writers.isEmpty() ? null : writers.get(0);
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to get writer id " + id + " with plan " + plan, e);
+        }
+    }
 
-        try (var prepStatement = connectionManager.prepareStatement(GET_BY_ID_SQL)) {
-            prepStatement.setLong(1, id);
-            var resultSet = prepStatement.executeQuery();
+    @Override
+    public List<Writer> getAll() {
+        return getAll(FetchPlan.WITH_POSTS);
+    }
 
-            while (resultSet.next()) {
-                if (writer == null) {
-                    writer = mapRowToWriter(resultSet);
-                }
-                Long postId = resultSet.getLong("post_id");
-
-                if (postId != 0) {
-                    Post post = new Post(
-                            postId,
-                            resultSet.getString("content"),
-                            resultSet.getTimestamp("created").toLocalDateTime(),
-                            resultSet.getTimestamp("updated").toLocalDateTime(),
-                            writer,
-                            new ArrayList<>(),
-                            Status.valueOf(resultSet.getString("status"))
-                    );
-                    posts.add(post);
+    @Override
+    public List<Writer> getAll(FetchPlan plan) {
+        try (var connection = connectionProvider.getConnection(Lane.SCAN)) {
+            return loadGraph(connection, plan, null);
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to get all writers with plan " + plan, e);
+        }
+    }
+
+    @Override
+    public List<Writer> find(WriterQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query must not be null");
+        }
+        CriteriaSql.Conditions postConditions = new CriteriaSql.Conditions()
+                .add("p.status = ?", query.getPostStatus() == null ? null : query.getPostStatus().name())
+                .add("EXISTS (SELECT 1 FROM post_label pl WHERE pl.post_id = p.id AND pl.label_id = ?)",
+                        query.getLabelId())
+                .add("p.created >= ?", query.getPostCreatedFrom())
+                .add("p.created < ?", query.getPostCreatedBefore());
+        CriteriaSql.Conditions conditions = new CriteriaSql.Conditions()
+                .add("w.id = ?", query.getWriterId())
+                .add("w.lastname LIKE ?", query.getLastnamePrefix() == null
+                        ? null
+                        : likePrefix(query.getLastnamePrefix()))
+                .nest("EXISTS (SELECT 1 FROM post p WHERE p.writer_id = w.id AND %s)", postConditions)
+                .shape(query.getSort())
+                .shape(query.getDirection())
+                .shape(query.getLimit() != null)
+                .shape(query.getFields());
+        String sql = CRITERIA_SQL.compile(conditions.shape(), () -> compile(query, conditions));
+        List<Object> params = new ArrayList<>(conditions.params());
+        if (query.getLimit() != null) {
+            params.add(query.getLimit());
+        }
+        List<Writer> result = new ArrayList<>();
+        try (var connection = connectionProvider.getConnection(query.getLimit() == null ? Lane.SCAN : Lane.OLTP_READ);
+             var prepStatement = connection.prepareStatement(sql)) {
+            setParameters(prepStatement, params.toArray());
+            try (var resultSet = prepStatement.executeQuery()) {
+                WriterRowMapper writerMapper = WriterRowMapper.projected(resultSet);
+                while (resultSet.next()) {
+                    result.add(writerMapper.map(resultSet));
                 }
             }
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to find writers", e);
+        }
+        return result;
+    }
+
+    static int compiledQueryCount() {
+        return CRITERIA_SQL.size();
+    }
 
-            if (writer != null) {
-                writer.setPosts(posts);
+    private static String compile(WriterQuery query, CriteriaSql.Conditions conditions) {
+        StringBuilder sql = new StringBuilder("SELECT w.id as writer_id");
+        for (WriterQuery.Field field : query.getFields()) {
+            sql.append(", w.").append(field.name().toLowerCase());
+        }
+        String direction = query.getDirection().name();
+        sql.append("\nFROM writer w\n")
+           .append(conditions.where())
+           .append("ORDER BY w.").append(query.getSort().name().toLowerCase()).append(' ').append(direction);
+        if (query.getSort() != WriterQuery.Sort.ID) {
+            sql.append(", w.id ").append(direction);
+        }
+        if (query.getLimit() != null) {
+            sql.append("\nLIMIT ?");
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public Stream<Writer> streamAll() {
+        return streamAll(PropertiesUtil.getInt(STREAM_FETCH_SIZE_KEY, DEFAULT_STREAM_FETCH_SIZE));
+    }
+
+    @Override
+    public Stream<Writer> streamAll(int fetchSize) {
+        Connection connection = null;
+        PreparedStatement prepStatement = null;
+        try {
+            connection = connectionProvider.getConnection(Lane.SCAN);
+            LongLivedBorrow.exemptFromLeakDetection(connection);
+            prepStatement = connection.prepareStatement(STREAM_ALL_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            prepStatement.setFetchSize(fetchSize);
+            ResultSet resultSet = prepStatement.executeQuery();
+            WriterRowMapper writerMapper = WriterRowMapper.of(resultSet);
+            PostRowMapper postMapper = PostRowMapper.of(resultSet, "post_id", false);
+            return ResultSetStreams.groupConsecutive(resultSet, "writer_id", writerMapper::map,
+                    (writer, row) -> appendPost(writer, postMapper.map(row, writer)),
+                    resultSet, prepStatement, connection);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                ResultSetStreams.closeAll(prepStatement, connection);
+            } catch (RepositoryException closeFailure) {
+                e.addSuppressed(closeFailure);
             }
-            return writer;
+            throw new RepositoryException("Failed to stream writers", e);
+        }
+    }
 
-        } catch (SQLException e) {
-            throw new RepositoryException("Failed to get writer id" + id, e);
+    @Override
+    public BatchResult<Writer> getByIds(Collection<Long> ids) {
+        List<Long> distinct = BatchQueries.distinctIds(ids);
+        Map<Long, Writer> found = new HashMap<>();
+        if (!distinct.isEmpty()) {
+            int chunkSize = BatchQueries.getChunkSize();
+            try (var connection = connectionProvider.getConnection(Lane.OLTP_READ)) {
+                for (List<Long> chunk : BatchQueries.chunk(distinct, chunkSize)) {
+                    int count = BatchQueries.placeholderCount(chunk.size(), chunkSize);
+                    try (var prepStatement = connection.prepareStatement(
+                            BatchQueries.withPlaceholders(GET_BY_IDS_SQL_TEMPLATE, count))) {
+                        setParameters(prepStatement, BatchQueries.padded(chunk, count));
+                        try (var resultSet = prepStatement.executeQuery()) {
+                            found.putAll(mapResultSetToWriters(resultSet));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RepositoryException("Failed to get writers by ids", e);
+            }
         }
+        return BatchQueries.inRequestedOrder(ids, found);
     }
 
     @Override
-    public List<Writer> getAll() {
-        List<Writer> result = new ArrayList<>();
-        try(var prepStatement = connectionManager.prepareStatement(GET_ALL_SQL);
-            var resultSet = prepStatement.executeQuery();
-        ) {
+    public Page<Writer> getPage(Long afterId, int limit) {
+        return getPage(afterId, limit, null);
+    }
 
-            while (resultSet.next()) {
-                result.add(mapRowToWriter(resultSet));
+    @Override
+    public Page<Writer> getPage(Long afterId, int limit, String lastnamePrefix) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        long after = afterId == null ? 0 : afterId;
+        Map<Long, Writer> writers;
+        try (var connection = connectionProvider.getConnection(Lane.OLTP_READ);
+             var prepStatement = connection.prepareStatement(lastnamePrefix == null
+                     ? GET_PAGE_SQL
+                     : GET_PAGE_BY_LASTNAME_SQL)) {
+            if (lastnamePrefix == null) {
+                setParameters(prepStatement, after, limit + 1);
+            } else {
+                setParameters(prepStatement, after, likePrefix(lastnamePrefix), limit + 1);
+            }
+            try (var resultSet = prepStatement.executeQuery()) {
+                writers = mapResultSetToWriters(resultSet);
             }
         } catch (SQLException e) {
-            throw new RepositoryException("Failed to get all writers " , e);
+            throw new RepositoryException("Failed to get writers page after id " + afterId, e);
         }
-        return result;
+        List<Writer> result = new ArrayList<>(writers.values());
+        if (result.size() <= limit) {
+            return new Page<>(result, null);
+        }
+        List<Writer> items = new ArrayList<>(result.subList(0, limit));
+        return new Page<>(items, items.get(limit - 1).getId());
     }
 
     @Override
@@ -127,7 +329,8 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
         if (writer == null) {
             throw new IllegalArgumentException("Writer must not be null");
         }
-        try (var preparedStatement = connectionManager.prepareStatement(SAVE_WRITER_SQL,
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             var preparedStatement = connection.prepareStatement(SAVE_WRITER_SQL,
                 Statement.RETURN_GENERATED_KEYS)) {
             setParameters(preparedStatement,
                     writer.getFirstname(),
@@ -137,7 +340,7 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
                 if (keys.next()) {
                     writer.setId(keys.getLong(1));
                     if (writer.getPosts() != null && !writer.getPosts().isEmpty()) {
-                        saveWriterPosts(writer);
+                        saveWriterPosts(connection, writer);
                     }
                     return writer;
                 }
@@ -149,16 +352,16 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
     }
 
 
-    private void saveWriterPosts (Writer writer){
+    private void saveWriterPosts (Connection connection, Writer writer){
         if (writer.getId() == null) {
             throw new IllegalStateException("Writer must have ID before saving posts");
         }
 
         for (Post post : writer.getPosts()) {
-            if (post == null || post.getContent() == null || post.getStatus() == null) {
+            if (post == null || post.getId() != null || post.getContent() == null || post.getStatus() == null) {
                 continue;
             }
-            try (PreparedStatement statement = connectionManager.prepareStatement(SAVE_POST_SQL,
+            try (PreparedStatement statement = connection.prepareStatement(SAVE_POST_SQL,
                     Statement.RETURN_GENERATED_KEYS)){
                 setParameters(statement,post.getContent(),
                         post.getStatus().name(),
@@ -172,7 +375,7 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
                 }
 
                 if (post.getId() != null && post.getLabels() != null && !post.getLabels().isEmpty()) {
-                    savePostLabels(post);
+                    savePostLabels(connection, post);
                 }
             } catch (SQLException e) {
                 throw new RepositoryException("Failed to save Writers post" , e);
@@ -180,8 +383,8 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
         }
     }
 
-    private void savePostLabels(Post post){
-        try (var labelStatement = connectionManager.prepareStatement(SAVE_POST_LABEL_SQL)){
+    private void savePostLabels(Connection connection, Post post){
+        try (var labelStatement = connection.prepareStatement(SAVE_POST_LABEL_SQL)){
             List<Label> labels = post.getLabels();
             if (labels == null || labels.isEmpty()) return;
             for (Label label: post.getLabels()) {
@@ -196,10 +399,11 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
     }
 
     private void updateWriter(Writer writer) {
-        try (var prepStatement = connectionManager.prepareStatement(UPDATE_SQL)) {
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             var prepStatement = connection.prepareStatement(UPDATE_SQL)) {
             prepStatement.setString(1, writer.getFirstname());
             prepStatement.setString(2, writer.getLastname());
-            prepStatement.setLong(4, writer.getId());
+            prepStatement.setLong(3, writer.getId());
             if (prepStatement.executeUpdate() == 0) {
                 throw new RuntimeException("Writer not found");
             }
@@ -214,12 +418,16 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
             throw new IllegalArgumentException("Writer and writer ID must not be null");
         }
 
-        try (var connection = connectionManager.getTransactionConnection()) {
+        try (var connection = connectionProvider.getConnection(Lane.WRITE)) {
+            boolean ownTransaction = connection.getAutoCommit();
+            if (ownTransaction) {
+                connection.setAutoCommit(false);
+            }
             try {
                 try (var prepStatement = connection.prepareStatement(UPDATE_SQL)){
                     prepStatement.setString(1, writer.getFirstname());
                     prepStatement.setString(2, writer.getLastname());
-                    prepStatement.setLong(4,writer.getId());
+                    prepStatement.setLong(3, writer.getId());
 
                     if (prepStatement.executeUpdate() == 0) {
                         throw new RuntimeException("Writer not found");
@@ -227,16 +435,22 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
                 }
 
                 if (writer.getPosts() != null) {
-                    saveWriterPosts(writer);
+                    saveWriterPosts(connection, writer);
                 }
 
-                connection.commit();
+                if (ownTransaction) {
+                    connection.commit();
+                }
                 return writer;
-            } catch (SQLException e) {
-                connection.rollback();
-                throw new RuntimeException("Failed to update ", e);
+            } catch (SQLException | RuntimeException e) {
+                if (ownTransaction) {
+                    connection.rollback();
+                }
+                throw e;
             } finally {
-                connection.setAutoCommit(true);
+                if (ownTransaction) {
+                    connection.setAutoCommit(true);
+                }
             }
         } catch (SQLException e) {
             throw new RepositoryException("Failed to update writer to id" , e);
@@ -245,7 +459,8 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
 
     @Override
     public void deleteById(Long id) {
-        try (var prepStatement = connectionManager.prepareStatement(DELETE_SQL)) {
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             var prepStatement = connection.prepareStatement(DELETE_SQL)) {
             setParameters(prepStatement, id);
             int affectedRows = prepStatement.executeUpdate();
             if (affectedRows == 0) {
@@ -258,25 +473,102 @@ public class JdbcWriterRepositoryImpl implements WriterRepository {
 
     @Override
     public Writer findByName(String firstname, String lastname)  {
-        try (PreparedStatement stmt = connectionManager.prepareStatement(FIND_BY_NAME_SQL)) {
+        try (var connection = connectionProvider.getConnection(Lane.WRITE);
+             PreparedStatement stmt = connection.prepareStatement(FIND_BY_NAME_SQL)) {
             setParameters(stmt, firstname, lastname);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next() ? mapRowToWriter(rs) : null;
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? WriterRowMapper.of(rs).map(rs) : null;
+            }
         } catch (SQLException e) {
             throw new RepositoryException("Failed to find by name to Writer ", e);
         }
     }
 
-    private Writer mapRowToWriter(ResultSet resultSet)  {
-        try {
-            Writer writer = new Writer();
-            writer.setId(resultSet.getLong("writer_id"));
-            writer.setFirstname(resultSet.getString("firstname"));
-            writer.setLastname(resultSet.getString("lastname"));
-            writer.setPosts(new ArrayList<>());
-            return writer;
-        } catch (SQLException e) {
-            throw new RepositoryException("Failed to map ResulTset to Writer ", e);
+    private List<Writer> loadGraph(Connection connection, FetchPlan plan, Long writerId) throws SQLException {
+        if (plan == null) {
+            throw new IllegalArgumentException("Fetch plan must not be null");
+        }
+        Map<Long, Writer> writers = new LinkedHashMap<>();
+        try (var prepStatement = prepareGraphQuery(connection, SELECT_ALL_WRITERS_SQL, SELECT_WRITER_BY_ID_SQL,
+                writerId);
+             var resultSet = prepStatement.executeQuery()) {
+            WriterRowMapper writerMapper = WriterRowMapper.of(resultSet);
+            while (resultSet.next()) {
+                writers.putIfAbsent(writerMapper.getId(resultSet), writerMapper.map(resultSet));
+            }
+        }
+        if (plan == FetchPlan.WRITERS_ONLY || writers.isEmpty()) {
+            return new ArrayList<>(writers.values());
+        }
+
+        Map<Long, Post> posts = new HashMap<>();
+        try (var prepStatement = prepareGraphQuery(connection, SELECT_ALL_WRITER_POSTS_SQL,
+                SELECT_POSTS_BY_WRITER_ID_SQL, writerId);
+             var resultSet = prepStatement.executeQuery()) {
+            PostRowMapper postMapper = PostRowMapper.of(resultSet, "post_id", true);
+            while (resultSet.next()) {
+                Writer writer = writers.get(postMapper.getWriterId(resultSet));
+                Post post = postMapper.map(resultSet, writer);
+                if (writer != null && posts.putIfAbsent(post.getId(), post) == null) {
+                    writer.getPosts().add(post);
+                }
+            }
+        }
+        if (plan == FetchPlan.WITH_POSTS_AND_LABELS && !posts.isEmpty()) {
+            Map<Long, Label> labels = new HashMap<>();
+            try (var prepStatement = prepareGraphQuery(connection, SELECT_ALL_WRITER_POST_LABELS_SQL,
+                    SELECT_POST_LABELS_BY_WRITER_ID_SQL, writerId);
+                 var resultSet = prepStatement.executeQuery()) {
+                int postId = resultSet.findColumn("post_id");
+                LabelRowMapper labelMapper = LabelRowMapper.of(resultSet, "label_id", "label_name");
+                while (resultSet.next()) {
+                    Post post = posts.get(resultSet.getLong(postId));
+                    if (post == null) {
+                        continue;
+                    }
+                    long labelId = labelMapper.getId(resultSet);
+                    Label label = labels.get(labelId);
+                    if (label == null) {
+                        label = labelMapper.map(resultSet);
+                        labels.put(labelId, label);
+                    }
+                    if (!post.getLabels().contains(label)) {
+                        post.getLabels().add(label);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(writers.values());
+    }
+
+    private PreparedStatement prepareGraphQuery(Connection connection, String allSql, String byWriterSql,
+                                                Long writerId) throws SQLException {
+        if (writerId == null) {
+            return connection.prepareStatement(allSql);
+        }
+        PreparedStatement prepStatement = connection.prepareStatement(byWriterSql);
+        prepStatement.setLong(1, writerId);
+        return prepStatement;
+    }
+
+    private Map<Long, Writer> mapResultSetToWriters(ResultSet resultSet) throws SQLException {
+        Map<Long, Writer> writers = new LinkedHashMap<>();
+        WriterRowMapper writerMapper = WriterRowMapper.of(resultSet);
+        PostRowMapper postMapper = PostRowMapper.of(resultSet, "post_id", false);
+        while (resultSet.next()) {
+            Writer writer = writers.get(writerMapper.getId(resultSet));
+            if (writer == null) {
+                writer = writerMapper.map(resultSet);
+                writers.put(writer.getId(), writer);
+            }
+            appendPost(writer, postMapper.map(resultSet, writer));
+        }
+        return writers;
+    }
+
+    private void appendPost(Writer writer, Post post) {
+        if (post != null) {
+            writer.getPosts().add(post);
         }
     }
 }
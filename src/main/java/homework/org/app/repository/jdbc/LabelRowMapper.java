@@ -0,0 +1,37 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+final class LabelRowMapper {
+
+    private final int id;
+    private final int name;
+
+    private LabelRowMapper(int id, int name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    static LabelRowMapper of(ResultSet resultSet) throws SQLException {
+        return of(resultSet, "id", "name");
+    }
+
+    static LabelRowMapper of(ResultSet resultSet, String idColumn, String nameColumn) throws SQLException {
+        return new LabelRowMapper(resultSet.findColumn(idColumn), resultSet.findColumn(nameColumn));
+    }
+
+    Label map(ResultSet resultSet) throws SQLException {
+        long labelId = resultSet.getLong(id);
+        if (resultSet.wasNull()) {
+            return null;
+        }
+        return new Label(labelId, resultSet.getString(name));
+    }
+
+    long getId(ResultSet resultSet) throws SQLException {
+        return resultSet.getLong(id);
+    }
+}
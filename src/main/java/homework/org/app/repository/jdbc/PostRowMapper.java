@@ -0,0 +1,93 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.model.Writer;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+final class PostRowMapper {
+
+    private final int id;
+    private final int content;
+    private final int created;
+    private final int updated;
+    private final int status;
+    private final int writerId;
+
+    private PostRowMapper(int id, int content, int created, int updated, int status, int writerId) {
+        this.id = id;
+        this.content = content;
+        this.created = created;
+        this.updated = updated;
+        this.status = status;
+        this.writerId = writerId;
+    }
+
+    static PostRowMapper of(ResultSet resultSet) throws SQLException {
+        return of(resultSet, "id", true);
+    }
+
+    static PostRowMapper of(ResultSet resultSet, String idColumn, boolean withWriterId) throws SQLException {
+        return new PostRowMapper(resultSet.findColumn(idColumn),
+                resultSet.findColumn("content"),
+                resultSet.findColumn("created"),
+                resultSet.findColumn("updated"),
+                resultSet.findColumn("status"),
+                withWriterId ? resultSet.findColumn("writer_id") : 0);
+    }
+
+    static PostRowMapper projected(ResultSet resultSet) throws SQLException {
+        return new PostRowMapper(resultSet.findColumn("id"),
+                CriteriaSql.indexOf(resultSet, "content"),
+                CriteriaSql.indexOf(resultSet, "created"),
+                CriteriaSql.indexOf(resultSet, "updated"),
+                CriteriaSql.indexOf(resultSet, "status"),
+                CriteriaSql.indexOf(resultSet, "writer_id"));
+    }
+
+    Post map(ResultSet resultSet) throws SQLException {
+        Writer writer = null;
+        if (writerId != 0) {
+            writer = new Writer();
+            writer.setId(resultSet.getLong(writerId));
+        }
+        return map(resultSet, writer);
+    }
+
+    Post map(ResultSet resultSet, Writer writer) throws SQLException {
+        long postId = resultSet.getLong(id);
+        if (resultSet.wasNull()) {
+            return null;
+        }
+        return new Post(
+                postId,
+                content == 0 ? null : resultSet.getString(content),
+                toLocalDateTime(resultSet, created),
+                toLocalDateTime(resultSet, updated),
+                writer,
+                new ArrayList<>(),
+                status == 0 ? null : Status.valueOf(resultSet.getString(status))
+        );
+    }
+
+    long getId(ResultSet resultSet) throws SQLException {
+        return resultSet.getLong(id);
+    }
+
+    private static LocalDateTime toLocalDateTime(ResultSet resultSet, int column) throws SQLException {
+        if (column == 0) {
+            return null;
+        }
+        Timestamp timestamp = resultSet.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    long getWriterId(ResultSet resultSet) throws SQLException {
+        return resultSet.getLong(writerId);
+    }
+}
@@ -0,0 +1,84 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.exception.RepositoryException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class ResultSetStreams {
+
+    private ResultSetStreams() {
+    }
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface RowAppender<T> {
+        void append(T target, ResultSet resultSet) throws SQLException;
+    }
+
+    static <T> Stream<T> groupConsecutive(ResultSet resultSet, String keyColumn,
+                                          RowMapper<T> head, RowAppender<T> row,
+                                          AutoCloseable... resources) {
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private boolean started;
+            private boolean onRow;
+            private int keyIndex;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!started) {
+                        started = true;
+                        keyIndex = resultSet.findColumn(keyColumn);
+                        onRow = resultSet.next();
+                    }
+                    if (!onRow) {
+                        return false;
+                    }
+                    long key = resultSet.getLong(keyIndex);
+                    T item = head.map(resultSet);
+                    row.append(item, resultSet);
+                    while ((onRow = resultSet.next()) && resultSet.getLong(keyIndex) == key) {
+                        row.append(item, resultSet);
+                    }
+                    action.accept(item);
+                    return true;
+                } catch (SQLException e) {
+                    throw new RepositoryException("Failed to read next row from stream", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> closeAll(resources));
+    }
+
+    static void closeAll(AutoCloseable... resources) {
+        RepositoryException failure = null;
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = new RepositoryException("Failed to close stream resources", e);
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
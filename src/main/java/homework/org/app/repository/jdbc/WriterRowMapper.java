@@ -0,0 +1,43 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Writer;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+final class WriterRowMapper {
+
+    private final int id;
+    private final int firstname;
+    private final int lastname;
+
+    private WriterRowMapper(int id, int firstname, int lastname) {
+        this.id = id;
+        this.firstname = firstname;
+        this.lastname = lastname;
+    }
+
+    static WriterRowMapper of(ResultSet resultSet) throws SQLException {
+        return new WriterRowMapper(resultSet.findColumn("writer_id"),
+                resultSet.findColumn("firstname"),
+                resultSet.findColumn("lastname"));
+    }
+
+    static WriterRowMapper projected(ResultSet resultSet) throws SQLException {
+        return new WriterRowMapper(resultSet.findColumn("writer_id"),
+                CriteriaSql.indexOf(resultSet, "firstname"),
+                CriteriaSql.indexOf(resultSet, "lastname"));
+    }
+
+    Writer map(ResultSet resultSet) throws SQLException {
+        return new Writer(resultSet.getLong(id),
+                firstname == 0 ? null : resultSet.getString(firstname),
+                lastname == 0 ? null : resultSet.getString(lastname),
+                new ArrayList<>());
+    }
+
+    long getId(ResultSet resultSet) throws SQLException {
+        return resultSet.getLong(id);
+    }
+}
@@ -1,11 +1,26 @@
 package homework.org.app.service;
 
+import homework.org.app.model.BatchResult;
+import homework.org.app.model.Page;
+import homework.org.app.util.Deadline;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface GenericService<T> {
     T getByID(Long id) ;
     List<T> getAll();
+    BatchResult<T> getByIds(Collection<Long> ids);
+    Page<T> getPage(Long afterId, int limit);
     T save(T entity);
     T update(T entity);
     void deleteById(Long id);
+
+    default T getByID(Long id, Deadline deadline) {
+        return deadline.call(() -> getByID(id));
+    }
+
+    default List<T> getAll(Deadline deadline) {
+        return deadline.call(this::getAll);
+    }
 }
@@ -1,6 +1,8 @@
 package homework.org.app.service;
 
 import homework.org.app.model.Label;
+import homework.org.app.model.Page;
 
 public interface LabelService extends GenericService<Label> {
+    Page<Label> getPage(Long afterId, int limit, String namePrefix);
 }
@@ -0,0 +1,11 @@
+package homework.org.app.service;
+
+import homework.org.app.model.Post;
+
+public interface PostChangeListener {
+    void onSaved(Post post);
+
+    void onUpdated(Post before, Post after);
+
+    void onDeleted(Post before);
+}
@@ -1,6 +1,20 @@
 package homework.org.app.service;
 
+import homework.org.app.model.Page;
 import homework.org.app.model.Post;
+import homework.org.app.model.SearchPage;
+import homework.org.app.model.Status;
+import homework.org.app.repository.PostQuery;
+import homework.org.app.repository.SearchMode;
+
+import java.util.List;
 
 public interface PostService extends GenericService<Post> {
+    Page<Post> getPage(Long afterId, int limit, Status status);
+    List<Post> saveAll(List<Post> posts);
+    List<Post> find(PostQuery query);
+    Page<Post> findByLabel(Long labelId, Long afterId, int limit);
+    Page<Post> findByWriter(Long writerId, Status status, Long afterId, int limit);
+    SearchPage<Post> search(String query, SearchMode mode, int offset, int limit);
+    void addChangeListener(PostChangeListener listener);
 }
@@ -1,6 +1,15 @@
 package homework.org.app.service;
 
+import homework.org.app.model.Page;
 import homework.org.app.model.Writer;
+import homework.org.app.repository.FetchPlan;
+import homework.org.app.repository.WriterQuery;
+
+import java.util.List;
 
 public interface WriterService extends GenericService<Writer>, FindOrCreateService<Writer> {
+    Writer getByID(Long id, FetchPlan plan);
+    List<Writer> getAll(FetchPlan plan);
+    Page<Writer> getPage(Long afterId, int limit, String lastnamePrefix);
+    List<Writer> find(WriterQuery query);
 }
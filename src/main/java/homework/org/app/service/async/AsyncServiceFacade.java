@@ -0,0 +1,126 @@
+package homework.org.app.service.async;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Writer;
+import homework.org.app.service.LabelService;
+import homework.org.app.service.PostService;
+import homework.org.app.service.WriterService;
+import homework.org.app.util.Deadline;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+@AllArgsConstructor
+public class AsyncServiceFacade implements AutoCloseable {
+    @NonNull
+    private final PostService postService;
+    @NonNull
+    private final WriterService writerService;
+    @NonNull
+    private final LabelService labelService;
+    @NonNull
+    private final ExecutorService executor;
+
+    public static AsyncServiceFacade ofVirtualThreads(PostService postService,
+                                                      WriterService writerService,
+                                                      LabelService labelService) {
+        return new AsyncServiceFacade(postService, writerService, labelService,
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public CompletableFuture<Post> getPostById(Long id) {
+        return submit(() -> postService.getByID(id));
+    }
+
+    public CompletableFuture<List<Post>> getAllPosts() {
+        return submit(postService::getAll);
+    }
+
+    public CompletableFuture<Post> getPostById(Long id, Deadline deadline) {
+        return submit(() -> postService.getByID(id, deadline));
+    }
+
+    public CompletableFuture<List<Post>> getAllPosts(Deadline deadline) {
+        return submit(() -> postService.getAll(deadline));
+    }
+
+    public CompletableFuture<Post> savePost(Post post) {
+        return submit(() -> postService.save(post));
+    }
+
+    public CompletableFuture<Post> updatePost(Post post) {
+        return submit(() -> postService.update(post));
+    }
+
+    public CompletableFuture<Void> deletePostById(Long id) {
+        return submit(() -> {
+            postService.deleteById(id);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Writer> getWriterById(Long id) {
+        return submit(() -> writerService.getByID(id));
+    }
+
+    public CompletableFuture<List<Writer>> getAllWriters() {
+        return submit(writerService::getAll);
+    }
+
+    public CompletableFuture<Writer> saveWriter(Writer writer) {
+        return submit(() -> writerService.save(writer));
+    }
+
+    public CompletableFuture<Writer> updateWriter(Writer writer) {
+        return submit(() -> writerService.update(writer));
+    }
+
+    public CompletableFuture<Void> deleteWriterById(Long id) {
+        return submit(() -> {
+            writerService.deleteById(id);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Writer> findOrCreateWriter(String firstName, String lastName) {
+        return submit(() -> writerService.findOrCreate(firstName, lastName));
+    }
+
+    public CompletableFuture<Label> getLabelById(Long id) {
+        return submit(() -> labelService.getByID(id));
+    }
+
+    public CompletableFuture<List<Label>> getAllLabels() {
+        return submit(labelService::getAll);
+    }
+
+    public CompletableFuture<Label> saveLabel(Label label) {
+        return submit(() -> labelService.save(label));
+    }
+
+    public CompletableFuture<Label> updateLabel(Label label) {
+        return submit(() -> labelService.update(label));
+    }
+
+    public CompletableFuture<Void> deleteLabelById(Long id) {
+        return submit(() -> {
+            labelService.deleteById(id);
+            return null;
+        });
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -2,18 +2,24 @@ package homework.org.app.service.impl;
 
 import homework.org.app.exception.NotFoundException;
 import homework.org.app.exception.ServiceException;
+import homework.org.app.model.BatchResult;
 import homework.org.app.model.Label;
+import homework.org.app.model.Page;
 import homework.org.app.repository.LabelRepository;
 import homework.org.app.service.LabelService;
+import homework.org.app.util.TransactionManager;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 
+import java.util.Collection;
 import java.util.List;
 
 @AllArgsConstructor
 public class LabelServiceImpl implements LabelService {
     @NonNull
     private final LabelRepository repository;
+    @NonNull
+    private final TransactionManager transactionManager;
 
     @Override
     public Label getByID(Long id) {
@@ -32,19 +38,35 @@ public class LabelServiceImpl implements LabelService {
         return repository.getAll();
     }
 
+    @Override
+    public BatchResult<Label> getByIds(Collection<Long> ids) {
+        if (ids == null) throw new ServiceException("IDs must be not null");
+        return repository.getByIds(ids);
+    }
+
+    @Override
+    public Page<Label> getPage(Long afterId, int limit) {
+        return repository.getPage(afterId, limit);
+    }
+
+    @Override
+    public Page<Label> getPage(Long afterId, int limit, String namePrefix) {
+        return repository.getPage(afterId, limit, namePrefix);
+    }
+
     @Override
     public Label save(Label label) {
-        return repository.save(label);
+        return transactionManager.inTransaction(() -> repository.save(label));
     }
 
     @Override
     public Label update(Label label) {
-        return repository.update(label);
+        return transactionManager.inTransaction(() -> repository.update(label));
     }
 
     @Override
     public void deleteById(Long id) {
         if (id == null) throw new ServiceException("ID must be not null");
-        repository.deleteById(id);
+        transactionManager.inTransaction(() -> repository.deleteById(id));
     }
 }
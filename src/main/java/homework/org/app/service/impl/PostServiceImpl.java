@@ -1,17 +1,32 @@
 package homework.org.app.service.impl;
 
+import homework.org.app.exception.ServiceException;
+import homework.org.app.model.BatchResult;
+import homework.org.app.model.Page;
 import homework.org.app.model.Post;
+import homework.org.app.model.SearchPage;
+import homework.org.app.model.Status;
+import homework.org.app.repository.PostQuery;
 import homework.org.app.repository.PostRepository;
+import homework.org.app.repository.SearchMode;
+import homework.org.app.service.PostChangeListener;
 import homework.org.app.service.PostService;
+import homework.org.app.util.TransactionManager;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 @AllArgsConstructor
 public class PostServiceImpl implements PostService {
     @NonNull
     private final PostRepository postRepository;
+    @NonNull
+    private final TransactionManager transactionManager;
+    private final List<PostChangeListener> listeners = new CopyOnWriteArrayList<>();
 
     @Override
     public Post getByID(Long id) {
@@ -24,19 +39,101 @@ public class PostServiceImpl implements PostService {
         return postRepository.getAll();
     }
 
+    @Override
+    public BatchResult<Post> getByIds(Collection<Long> ids) {
+        if (ids == null) throw new ServiceException("IDs must be not null");
+        return postRepository.getByIds(ids);
+    }
+
+    @Override
+    public Page<Post> getPage(Long afterId, int limit) {
+        return postRepository.getPage(afterId, limit);
+    }
+
+    @Override
+    public Page<Post> getPage(Long afterId, int limit, Status status) {
+        return postRepository.getPage(afterId, limit, status);
+    }
+
     @Override
     public Post save(Post post) {
-        return postRepository.save(post);
+        return transactionManager.inTransaction(() -> {
+            Post saved = postRepository.save(post);
+            notifyAfterCommit(listener -> listener.onSaved(saved));
+            return saved;
+        });
+    }
+
+    @Override
+    public List<Post> saveAll(List<Post> posts) {
+        if (posts == null) throw new ServiceException("Posts must be not null");
+        return transactionManager.inTransaction(() -> {
+            List<Post> saved = postRepository.saveAll(posts);
+            notifyAfterCommit(listener -> saved.forEach(listener::onSaved));
+            return saved;
+        });
+    }
+
+    @Override
+    public List<Post> find(PostQuery query) {
+        if (query == null) throw new ServiceException("Query must be not null");
+        return postRepository.find(query);
+    }
+
+    @Override
+    public Page<Post> findByLabel(Long labelId, Long afterId, int limit) {
+        if (labelId == null) throw new ServiceException("Label ID must be not null");
+        return postRepository.findByLabel(labelId, afterId, limit);
+    }
+
+    @Override
+    public Page<Post> findByWriter(Long writerId, Status status, Long afterId, int limit) {
+        if (writerId == null) throw new ServiceException("Writer ID must be not null");
+        return postRepository.findByWriter(writerId, status, afterId, limit);
+    }
+
+    @Override
+    public SearchPage<Post> search(String query, SearchMode mode, int offset, int limit) {
+        if (query == null || query.isBlank()) throw new ServiceException("Search query must be not blank");
+        return postRepository.search(query, mode == null ? SearchMode.NATURAL_LANGUAGE : mode, offset, limit);
+    }
+
+    @Override
+    public void addChangeListener(PostChangeListener listener) {
+        if (listener == null) throw new ServiceException("Listener must be not null");
+        listeners.add(listener);
     }
 
     @Override
     public Post update(Post post) {
-        return postRepository.updateWithLabels(post);
+        if (listeners.isEmpty()) {
+            return transactionManager.inTransaction(() -> postRepository.updateWithLabels(post));
+        }
+        return transactionManager.inTransaction(() -> {
+            Post before = postRepository.getByIdForUpdate(post.getId());
+            Post after = postRepository.updateWithLabels(post);
+            notifyAfterCommit(listener -> listener.onUpdated(before, after));
+            return after;
+        });
     }
 
     @Override
     public void deleteById(Long id) {
         if (id == null) throw new RuntimeException("ID must be not null");
-        postRepository.deleteById(id);
+        if (listeners.isEmpty()) {
+            transactionManager.inTransaction(() -> postRepository.deleteById(id));
+            return;
+        }
+        transactionManager.inTransaction(() -> {
+            Post before = postRepository.getByIdForUpdate(id);
+            postRepository.deleteById(id);
+            notifyAfterCommit(listener -> listener.onDeleted(before));
+        });
+    }
+
+    private void notifyAfterCommit(Consumer<PostChangeListener> notification) {
+        if (!listeners.isEmpty()) {
+            transactionManager.afterCommit(() -> listeners.forEach(notification));
+        }
     }
 }
@@ -1,19 +1,27 @@
 package homework.org.app.service.impl;
 
 import homework.org.app.exception.ServiceException;
+import homework.org.app.model.BatchResult;
+import homework.org.app.model.Page;
 import homework.org.app.model.Writer;
+import homework.org.app.repository.FetchPlan;
+import homework.org.app.repository.WriterQuery;
 import homework.org.app.repository.WriterRepository;
 import homework.org.app.service.WriterService;
+import homework.org.app.util.TransactionManager;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 @AllArgsConstructor
 public class WriterServiceImpl implements WriterService  {
     @NonNull
     private final WriterRepository repository;
+    @NonNull
+    private final TransactionManager transactionManager;
 
     @Override
     public Writer getByID(Long id) {
@@ -26,38 +34,75 @@ public class WriterServiceImpl implements WriterService  {
         return repository.getAll();
     }
 
+    @Override
+    public Writer getByID(Long id, FetchPlan plan) {
+        if (id == null) throw new RuntimeException("ID must be not null");
+        if (plan == null) throw new ServiceException("Fetch plan must be not null");
+        return repository.getById(id, plan);
+    }
+
+    @Override
+    public List<Writer> getAll(FetchPlan plan) {
+        if (plan == null) throw new ServiceException("Fetch plan must be not null");
+        return repository.getAll(plan);
+    }
+
+    @Override
+    public BatchResult<Writer> getByIds(Collection<Long> ids) {
+        if (ids == null) throw new ServiceException("IDs must be not null");
+        return repository.getByIds(ids);
+    }
+
+    @Override
+    public Page<Writer> getPage(Long afterId, int limit) {
+        return repository.getPage(afterId, limit);
+    }
+
+    @Override
+    public Page<Writer> getPage(Long afterId, int limit, String lastnamePrefix) {
+        return repository.getPage(afterId, limit, lastnamePrefix);
+    }
+
+    @Override
+    public List<Writer> find(WriterQuery query) {
+        if (query == null) throw new ServiceException("Query must be not null");
+        return repository.find(query);
+    }
+
     @Override
     public Writer save(Writer writer) {
-        return repository.save(writer);
+        return transactionManager.inTransaction(() -> repository.save(writer));
     }
 
     @Override
     public Writer update(Writer writer) {
-        return repository.update(writer);
+        return transactionManager.inTransaction(() -> repository.update(writer));
     }
 
     @Override
     public void deleteById(Long id) {
         if (id == null) throw new RuntimeException("ID must be not null");
-        repository.deleteById(id);
+        transactionManager.inTransaction(() -> repository.deleteById(id));
     }
 
     @Override
     public Writer findOrCreate (String firstName, String lastName) {
         if (firstName == null && lastName == null) throw new RuntimeException("First name and last name must be not null");
-        try {
-            Writer existing = repository.findByName(firstName, lastName);
-            if (existing != null) {
-                return existing;
-            }
+        return transactionManager.inTransaction(() -> {
+            try {
+                Writer existing = repository.findByName(firstName, lastName);
+                if (existing != null) {
+                    return existing;
+                }
 
-            Writer newWriter = new Writer();
-            newWriter.setFirstname(firstName);
-            newWriter.setLastname(lastName);
+                Writer newWriter = new Writer();
+                newWriter.setFirstname(firstName);
+                newWriter.setLastname(lastName);
 
-            return repository.save(newWriter);
-        } catch (SQLException e) {
-            throw new ServiceException("Failed to find or create writer", e);
-        }
+                return repository.save(newWriter);
+            } catch (SQLException e) {
+                throw new ServiceException("Failed to find or create writer", e);
+            }
+        });
     }
 }
@@ -0,0 +1,17 @@
+package homework.org.app.service.index;
+
+interface IdCursor {
+    boolean hasNext();
+
+    long next();
+
+    default long advance(long target) {
+        while (hasNext()) {
+            long id = next();
+            if (id >= target) {
+                return id;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,408 @@
+package homework.org.app.service.index;
+
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.repository.PostRepository;
+import homework.org.app.service.PostChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+public class PostContentIndex implements PostChangeListener {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final NavigableMap<String, PostingList> vocabulary = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static PostContentIndex build(PostRepository repository) {
+        try (Stream<Post> posts = repository.streamAll()) {
+            return build(posts);
+        }
+    }
+
+    public static PostContentIndex build(Stream<Post> posts) {
+        Map<String, PostingList> postings = new HashMap<>();
+        posts.filter(PostContentIndex::isIndexed).forEach(post -> {
+            for (String term : tokenize(post.getContent())) {
+                postings.computeIfAbsent(term, key -> new PostingList()).add(post.getId());
+            }
+        });
+        PostContentIndex index = new PostContentIndex();
+        index.vocabulary.putAll(postings);
+        index.trim();
+        return index;
+    }
+
+    public static Set<String> tokenize(String text) {
+        return new LinkedHashSet<>(words(text));
+    }
+
+    private static List<String> words(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                terms.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    public void add(long postId, String content) {
+        apply(postId, Set.of(), tokenize(content));
+    }
+
+    public void remove(long postId, String content) {
+        apply(postId, tokenize(content), Set.of());
+    }
+
+    @Override
+    public void onSaved(Post post) {
+        if (isIndexed(post)) {
+            add(post.getId(), post.getContent());
+        }
+    }
+
+    @Override
+    public void onUpdated(Post before, Post after) {
+        if (!isIndexed(before) || !isIndexed(after) || !before.getId().equals(after.getId())) {
+            onDeleted(before);
+            onSaved(after);
+            return;
+        }
+        Set<String> removed = tokenize(before.getContent());
+        Set<String> added = tokenize(after.getContent());
+        Set<String> kept = new LinkedHashSet<>(removed);
+        kept.retainAll(added);
+        removed.removeAll(kept);
+        added.removeAll(kept);
+        apply(after.getId(), removed, added);
+    }
+
+    @Override
+    public void onDeleted(Post before) {
+        if (isIndexed(before)) {
+            remove(before.getId(), before.getContent());
+        }
+    }
+
+    public long[] and(String text, int limit) {
+        Set<String> terms = tokenize(text);
+        if (terms.isEmpty()) {
+            return NO_IDS;
+        }
+        lock.readLock().lock();
+        try {
+            List<IdCursor> cursors = new ArrayList<>();
+            for (String term : terms) {
+                PostingList list = vocabulary.get(term);
+                if (list == null) {
+                    return NO_IDS;
+                }
+                cursors.add(list.cursor());
+            }
+            return intersect(cursors, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] or(String text, int limit) {
+        Set<String> terms = tokenize(text);
+        lock.readLock().lock();
+        try {
+            List<IdCursor> cursors = new ArrayList<>();
+            for (String term : terms) {
+                PostingList list = vocabulary.get(term);
+                if (list != null) {
+                    cursors.add(list.cursor());
+                }
+            }
+            return drain(new UnionCursor(cursors), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] prefix(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return drain(prefixCursor(normalize(prefix)), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] typeAhead(String text, int limit) {
+        List<String> words = words(text);
+        if (words.isEmpty()) {
+            return NO_IDS;
+        }
+        boolean typing = Character.isLetterOrDigit(text.charAt(text.length() - 1));
+        if (typing) {
+            String last = words.remove(words.size() - 1);
+            Set<String> terms = new LinkedHashSet<>(words);
+            lock.readLock().lock();
+            try {
+                List<IdCursor> cursors = new ArrayList<>();
+                for (String term : terms) {
+                    PostingList list = vocabulary.get(term);
+                    if (list == null) {
+                        return NO_IDS;
+                    }
+                    cursors.add(list.cursor());
+                }
+                cursors.add(prefixCursor(last));
+                return intersect(cursors, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return and(text, limit);
+    }
+
+    PostingList postingsOf(String term) {
+        lock.readLock().lock();
+        try {
+            return vocabulary.get(term);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return vocabulary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getPostingCount() {
+        lock.readLock().lock();
+        try {
+            return vocabulary.values().stream().mapToLong(PostingList::size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getPostingBytes() {
+        lock.readLock().lock();
+        try {
+            return vocabulary.values().stream().mapToLong(PostingList::byteSize).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void trim() {
+        lock.writeLock().lock();
+        try {
+            vocabulary.values().forEach(PostingList::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(long postId, Set<String> removed, Set<String> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String term : removed) {
+                PostingList list = vocabulary.get(term);
+                if (list != null && list.remove(postId) && list.isEmpty()) {
+                    vocabulary.remove(term);
+                }
+            }
+            for (String term : added) {
+                vocabulary.computeIfAbsent(term, key -> new PostingList()).add(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isIndexed(Post post) {
+        return post != null && post.getId() != null && post.getStatus() != Status.DELETED;
+    }
+
+    private String normalize(String prefix) {
+        return prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private IdCursor prefixCursor(String prefix) {
+        if (prefix.isEmpty()) {
+            return new UnionCursor(List.of());
+        }
+        Collection<PostingList> lists = vocabulary.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        List<IdCursor> cursors = new ArrayList<>(lists.size());
+        for (PostingList list : lists) {
+            cursors.add(list.cursor());
+        }
+        return new UnionCursor(cursors);
+    }
+
+    private static long[] intersect(List<IdCursor> cursors, int limit) {
+        long[] heads = new long[cursors.size()];
+        for (int i = 0; i < heads.length; i++) {
+            if (!cursors.get(i).hasNext()) {
+                return NO_IDS;
+            }
+            heads[i] = cursors.get(i).next();
+        }
+        LongBuffer result = new LongBuffer();
+        while (result.size < limit) {
+            long max = heads[0];
+            for (long head : heads) {
+                max = Math.max(max, head);
+            }
+            boolean aligned = true;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] < max) {
+                    heads[i] = cursors.get(i).advance(max);
+                    if (heads[i] < 0) {
+                        return result.toArray();
+                    }
+                }
+                aligned &= heads[i] == max;
+            }
+            if (!aligned) {
+                continue;
+            }
+            result.add(max);
+            for (int i = 0; i < heads.length; i++) {
+                if (!cursors.get(i).hasNext()) {
+                    return result.toArray();
+                }
+                heads[i] = cursors.get(i).next();
+            }
+        }
+        return result.toArray();
+    }
+
+    private static long[] drain(IdCursor cursor, int limit) {
+        LongBuffer result = new LongBuffer();
+        while (result.size < limit && cursor.hasNext()) {
+            result.add(cursor.next());
+        }
+        return result.toArray();
+    }
+
+    private static final class UnionCursor implements IdCursor {
+
+        private final PriorityQueue<Head> queue;
+        private long last = Long.MIN_VALUE;
+        private long pending;
+        private boolean hasPending;
+
+        private UnionCursor(List<IdCursor> cursors) {
+            queue = new PriorityQueue<>(Math.max(cursors.size(), 1));
+            for (IdCursor cursor : cursors) {
+                if (cursor.hasNext()) {
+                    queue.add(new Head(cursor, cursor.next()));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!hasPending && !queue.isEmpty()) {
+                Head head = queue.poll();
+                if (head.id != last) {
+                    pending = head.id;
+                    hasPending = true;
+                }
+                if (head.cursor.hasNext()) {
+                    head.id = head.cursor.next();
+                    queue.add(head);
+                }
+            }
+            return hasPending;
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext()) {
+                throw new IllegalStateException("No more ids");
+            }
+            hasPending = false;
+            last = pending;
+            return pending;
+        }
+
+        @Override
+        public long advance(long target) {
+            if (hasPending && pending < target) {
+                hasPending = false;
+            }
+            while (!hasPending && !queue.isEmpty() && queue.peek().id < target) {
+                Head head = queue.poll();
+                long id = head.cursor.advance(target);
+                if (id >= 0) {
+                    head.id = id;
+                    queue.add(head);
+                }
+            }
+            return hasNext() ? next() : -1;
+        }
+    }
+
+    private static final class Head implements Comparable<Head> {
+
+        private final IdCursor cursor;
+        private long id;
+
+        private Head(IdCursor cursor, long id) {
+            this.cursor = cursor;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Head other) {
+            return Long.compare(id, other.id);
+        }
+    }
+
+    private static final class LongBuffer {
+
+        private long[] values = new long[16];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package homework.org.app.service.index;
+
+import java.util.Arrays;
+
+final class PostingList {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final long[] NO_SKIPS = new long[0];
+    private static final int[] NO_OFFSETS = new int[0];
+    private static final int SKIP_INTERVAL = 64;
+
+    private byte[] data = EMPTY;
+    private int length;
+    private int size;
+    private long last;
+    private int tailSize;
+    private long[] skipBases = NO_SKIPS;
+    private int[] skipOffsets = NO_OFFSETS;
+    private int skips;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int byteSize() {
+        return data.length + skipBases.length * Long.BYTES + skipOffsets.length * Integer.BYTES;
+    }
+
+    void add(long id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Post id must be positive");
+        }
+        if (size == 0 || id > last) {
+            append(id);
+            return;
+        }
+        int block = blockOf(id);
+        long[] ids = decodeBlock(block);
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        long[] updated = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        replaceBlock(block, ids.length, updated);
+    }
+
+    boolean remove(long id) {
+        if (size == 0 || id > last) {
+            return false;
+        }
+        int block = blockOf(id);
+        long[] ids = decodeBlock(block);
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return false;
+        }
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, position);
+        System.arraycopy(ids, position + 1, updated, position, updated.length - position);
+        replaceBlock(block, ids.length, updated);
+        return true;
+    }
+
+    void trim() {
+        if (data.length != length) {
+            data = Arrays.copyOf(data, length);
+        }
+        if (skipBases.length != skips) {
+            skipBases = Arrays.copyOf(skipBases, skips);
+            skipOffsets = Arrays.copyOf(skipOffsets, skips);
+        }
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        Cursor cursor = cursor();
+        for (int i = 0; i < size; i++) {
+            ids[i] = cursor.next();
+        }
+        return ids;
+    }
+
+    Cursor cursor() {
+        return new Cursor(data, length, skipBases, skipOffsets, skips);
+    }
+
+    private int blockOf(long id) {
+        int low = 0;
+        int high = skips - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (skipBases[middle] < id) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private int blockStart(int block) {
+        return block == 0 ? 0 : skipOffsets[block - 1];
+    }
+
+    private long blockBase(int block) {
+        return block == 0 ? 0 : skipBases[block - 1];
+    }
+
+    private int blockEnd(int block) {
+        return block < skips ? skipOffsets[block] : length;
+    }
+
+    private long[] decodeBlock(int block) {
+        int end = blockEnd(block);
+        long[] ids = new long[end - blockStart(block)];
+        int count = 0;
+        Cursor cursor = new Cursor(data, end, NO_SKIPS, NO_OFFSETS, 0);
+        cursor.position = blockStart(block);
+        cursor.current = blockBase(block);
+        while (cursor.hasNext()) {
+            ids[count++] = cursor.next();
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private void replaceBlock(int block, int oldCount, long[] ids) {
+        int start = blockStart(block);
+        long base = blockBase(block);
+        boolean tail = block == skips;
+        int replacedEnd = blockEnd(block);
+        long nextFirst = 0;
+        if (!tail) {
+            Cursor next = new Cursor(data, length, NO_SKIPS, NO_OFFSETS, 0);
+            next.position = replacedEnd;
+            next.current = skipBases[block];
+            nextFirst = next.next();
+            replacedEnd = next.position;
+        }
+
+        byte[] segment = new byte[(ids.length + 1) * 10];
+        int segmentLength = 0;
+        long[] bases = new long[ids.length / SKIP_INTERVAL + 1];
+        int[] offsets = new int[bases.length];
+        int added = 0;
+        long previous = base;
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0 && i % SKIP_INTERVAL == 0) {
+                bases[added] = previous;
+                offsets[added++] = start + segmentLength;
+            }
+            segmentLength = writeVarint(segment, segmentLength, ids[i] - previous);
+            previous = ids[i];
+        }
+        if (!tail) {
+            if (ids.length > 0) {
+                bases[added] = previous;
+                offsets[added++] = start + segmentLength;
+            }
+            segmentLength = writeVarint(segment, segmentLength, nextFirst - previous);
+        }
+
+        int shift = segmentLength - (replacedEnd - start);
+        if (length + shift > data.length) {
+            data = Arrays.copyOf(data, length + shift + (data.length >> 1));
+        }
+        System.arraycopy(data, replacedEnd, data, replacedEnd + shift, length - replacedEnd);
+        System.arraycopy(segment, 0, data, start, segmentLength);
+        length += shift;
+
+        int removed = tail ? 0 : 1;
+        int total = skips - removed + added;
+        if (total > skipBases.length) {
+            skipBases = Arrays.copyOf(skipBases, total);
+            skipOffsets = Arrays.copyOf(skipOffsets, total);
+        }
+        int moved = skips - block - removed;
+        System.arraycopy(skipBases, block + removed, skipBases, block + added, moved);
+        System.arraycopy(skipOffsets, block + removed, skipOffsets, block + added, moved);
+        for (int i = block + added; i < total; i++) {
+            skipOffsets[i] += shift;
+        }
+        System.arraycopy(bases, 0, skipBases, block, added);
+        System.arraycopy(offsets, 0, skipOffsets, block, added);
+        skips = total;
+        size += ids.length - oldCount;
+
+        if (tail) {
+            if (ids.length > 0) {
+                last = previous;
+                tailSize = ids.length - added * SKIP_INTERVAL;
+            } else if (block > 0) {
+                skips--;
+                last = base;
+                tailSize = decodeBlock(skips).length;
+            } else {
+                last = 0;
+                tailSize = 0;
+            }
+        }
+    }
+
+    private void append(long id) {
+        if (tailSize == SKIP_INTERVAL) {
+            if (skips == skipBases.length) {
+                int capacity = Math.max(4, skips * 2);
+                skipBases = Arrays.copyOf(skipBases, capacity);
+                skipOffsets = Arrays.copyOf(skipOffsets, capacity);
+            }
+            skipBases[skips] = last;
+            skipOffsets[skips] = length;
+            skips++;
+            tailSize = 0;
+        }
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(16, data.length + (data.length >> 1)) + 10);
+        }
+        length = writeVarint(data, length, id - last);
+        last = id;
+        size++;
+        tailSize++;
+    }
+
+    private static int writeVarint(byte[] target, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[offset++] = (byte) value;
+        return offset;
+    }
+
+    static final class Cursor implements IdCursor {
+
+        private final byte[] data;
+        private final int length;
+        private final long[] skipBases;
+        private final int[] skipOffsets;
+        private final int skips;
+        private int position;
+        private long current;
+
+        private Cursor(byte[] data, int length, long[] skipBases, int[] skipOffsets, int skips) {
+            this.data = data;
+            this.length = length;
+            this.skipBases = skipBases;
+            this.skipOffsets = skipOffsets;
+            this.skips = skips;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < length;
+        }
+
+        @Override
+        public long next() {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            current += delta;
+            return current;
+        }
+
+        @Override
+        public long advance(long target) {
+            int low = 0;
+            int high = skips - 1;
+            int block = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (skipBases[middle] < target) {
+                    block = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            if (block >= 0 && skipOffsets[block] > position) {
+                position = skipOffsets[block];
+                current = skipBases[block];
+            }
+            return IdCursor.super.advance(target);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package homework.org.app.util;
+
+import homework.org.app.exception.BulkheadFullException;
+import homework.org.app.exception.RepositoryException;
+import lombok.Getter;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Bulkhead {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final LaneConfig config;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, LaneConfig config) {
+        this.name = name;
+        this.config = config;
+        this.permits = new Semaphore(config.getCapacity(), true);
+    }
+
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (queued.incrementAndGet() > config.getQueueLimit()) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw new BulkheadFullException("Lane " + name + " is saturated: "
+                    + config.getCapacity() + " in use, " + config.getQueueLimit() + " queued");
+        }
+        long timeout = Deadline.capMillis(config.getMaxWaitMs());
+        try {
+            if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new BulkheadFullException("Timed out after " + timeout
+                        + " ms waiting for lane " + name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while waiting for lane " + name, e);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getActiveCount() {
+        return config.getCapacity() - permits.availablePermits();
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
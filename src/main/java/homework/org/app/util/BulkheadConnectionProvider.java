@@ -0,0 +1,91 @@
+package homework.org.app.util;
+
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BulkheadConnectionProvider implements ConnectionProvider, AutoCloseable {
+
+    @Getter
+    private final ConnectionProvider delegate;
+    private final Map<Lane, Bulkhead> bulkheads = new EnumMap<>(Lane.class);
+
+    public BulkheadConnectionProvider(ConnectionProvider delegate, Map<Lane, LaneConfig> lanes) {
+        this.delegate = delegate;
+        for (Lane lane : Lane.values()) {
+            LaneConfig config = lanes.get(lane);
+            if (config == null) {
+                throw new IllegalArgumentException("No configuration for lane " + lane.getKey());
+            }
+            bulkheads.put(lane, new Bulkhead(lane.getKey(), config));
+        }
+    }
+
+    public static BulkheadConnectionProvider fromProperties(ConnectionProvider delegate) {
+        Map<Lane, LaneConfig> lanes = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, LaneConfig.fromProperties(lane));
+        }
+        return new BulkheadConnectionProvider(delegate, lanes);
+    }
+
+    public Bulkhead getBulkhead(Lane lane) {
+        return bulkheads.get(lane);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(Lane.WRITE);
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        return getConnection(Lane.OLTP_READ);
+    }
+
+    @Override
+    public Connection getConnection(Lane lane) throws SQLException {
+        Bulkhead bulkhead = bulkheads.get(lane);
+        bulkhead.acquire();
+        try {
+            return new LaneConnection(delegate.getConnection(lane), bulkhead);
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static class LaneConnection extends DelegatingConnection {
+
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        LaneConnection(Connection delegate, Bulkhead bulkhead) {
+            super(delegate);
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                super.close();
+            } finally {
+                bulkhead.release();
+            }
+        }
+    }
+}
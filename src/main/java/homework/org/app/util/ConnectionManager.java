@@ -1,6 +1,8 @@
 package homework.org.app.util;
 
 import java.sql.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public final class ConnectionManager {
 
@@ -8,7 +10,7 @@ public final class ConnectionManager {
     private static final String USERNAME_KEY = "db.username";
     private static final String PASSWORD_KEY = "db.password";
 
-    private static ConnectionManager instance;
+    private final Lock lock = new ReentrantLock();
     private Connection transactionConnection;
     private Connection autoCommitConnection;
 
@@ -19,25 +21,32 @@ public final class ConnectionManager {
     private ConnectionManager() {
     }
 
-    public static synchronized ConnectionManager getInstance() {
-        if (instance == null) {
-            instance = new ConnectionManager();
-        }
-        return instance;
+    public static ConnectionManager getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     public Connection getTransactionConnection() {
-        if (transactionConnection == null || isConnectionClosed(transactionConnection)) {
-            transactionConnection = createConnection(false);
+        lock.lock();
+        try {
+            if (transactionConnection == null || isConnectionClosed(transactionConnection)) {
+                transactionConnection = createConnection(false);
+            }
+            return transactionConnection;
+        } finally {
+            lock.unlock();
         }
-        return transactionConnection;
     }
 
     public Connection getAutoCommitConnection() {
-        if (autoCommitConnection == null || isConnectionClosed(autoCommitConnection)) {
-            autoCommitConnection = createConnection(true);
+        lock.lock();
+        try {
+            if (autoCommitConnection == null || isConnectionClosed(autoCommitConnection)) {
+                autoCommitConnection = createConnection(true);
+            }
+            return autoCommitConnection;
+        } finally {
+            lock.unlock();
         }
-        return autoCommitConnection;
     }
 
     public PreparedStatement prepareStatement(String sql) throws SQLException {
@@ -76,8 +85,13 @@ public final class ConnectionManager {
     }
 
     public void closeAll() {
-        closeConnection(transactionConnection);
-        closeConnection(autoCommitConnection);
+        lock.lock();
+        try {
+            closeConnection(transactionConnection);
+            closeConnection(autoCommitConnection);
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void closeConnection(Connection conn) {
@@ -96,4 +110,8 @@ public final class ConnectionManager {
             throw new RuntimeException("Failed to load JDBC driver", e);
         }
     }
+
+    private static class InstanceHolder {
+        private static final ConnectionManager INSTANCE = new ConnectionManager();
+    }
 }
@@ -0,0 +1,457 @@
+package homework.org.app.util;
+
+import homework.org.app.exception.ConnectionTimeoutException;
+import homework.org.app.exception.RepositoryException;
+import lombok.Getter;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConnectionPool implements ConnectionProvider, AutoCloseable {
+
+    private static final long ALIVE_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int ADDER_THREADS = 4;
+
+    @Getter
+    private final PoolConfig config;
+    private final ResizableSemaphore permits;
+    private final Deque<PooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> allConnections = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private final ThreadPoolExecutor connectionAdder;
+    private final AtomicInteger pendingAdds = new AtomicInteger();
+    private final AtomicInteger starvedBorrows = new AtomicInteger();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    @Getter
+    private final PoolMetrics metrics = new PoolMetrics(this);
+    private final ObjectName objectName;
+    private final ReentrantLock reconfigureLock = new ReentrantLock();
+    private volatile ScheduledFuture<?> housekeeping;
+    private volatile boolean closed;
+
+    public ConnectionPool(PoolConfig config) {
+        this.config = config;
+        this.permits = new ResizableSemaphore(config.getMaxPoolSize());
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("housekeeper"));
+        this.connectionAdder = new ThreadPoolExecutor(ADDER_THREADS, ADDER_THREADS, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreadFactory("adder"));
+        this.connectionAdder.allowCoreThreadTimeOut(true);
+        long leakThreshold = config.getLeakThresholdMs();
+        if (leakThreshold > 0) {
+            long period = Math.max(leakThreshold / 2, 1);
+            housekeeper.scheduleAtFixedRate(this::reclaimLeakedConnections, period, period, TimeUnit.MILLISECONDS);
+        }
+        scheduleHousekeeping();
+        this.objectName = registerMBean();
+        addConnectionsAsync(getMinPoolSize());
+    }
+
+    @Override
+    public Connection getConnection() {
+        if (closed) {
+            throw new RepositoryException("Connection pool " + config.getPoolName() + " is closed");
+        }
+        acquirePermit();
+        try {
+            PooledConnection pooled;
+            while ((pooled = pollIdle()) != null && !isUsable(pooled)) {
+                pooled.compareAndSetState(PooledConnection.IN_USE, PooledConnection.REMOVED);
+                discard(pooled);
+                addConnectionsAsync(getMinPoolSize());
+            }
+            if (pooled == null) {
+                starvedBorrows.incrementAndGet();
+                pooled = openConnection();
+                pooled.compareAndSetState(PooledConnection.IDLE, PooledConnection.IN_USE);
+            }
+            return pooled.borrow(config.getLeakThresholdMs() > 0
+                    ? new Throwable("Connection borrowed by " + Thread.currentThread().getName())
+                    : null);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    public int getTotalCount() {
+        return allConnections.size();
+    }
+
+    public int getActiveCount() {
+        int active = 0;
+        for (PooledConnection pooled : allConnections) {
+            if (pooled.isInUse()) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return permits.getQueueLength();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    public void reconfigure(PoolConfig update) {
+        resize(update.getMinPoolSize(), update.getMaxPoolSize());
+        setBorrowTimeoutMs(update.getBorrowTimeoutMs());
+        setValidationIntervalMs(update.getValidationIntervalMs());
+    }
+
+    public void resize(int minPoolSize, int maxPoolSize) {
+        if (maxPoolSize < 1 || minPoolSize < 0) {
+            throw new IllegalArgumentException("Invalid pool size: min " + minPoolSize + ", max " + maxPoolSize);
+        }
+        reconfigureLock.lock();
+        try {
+            int delta = maxPoolSize - config.getMaxPoolSize();
+            config.setMinPoolSize(minPoolSize);
+            config.setMaxPoolSize(maxPoolSize);
+            if (delta > 0) {
+                permits.release(delta);
+            } else if (delta < 0) {
+                permits.reducePermits(-delta);
+            }
+        } finally {
+            reconfigureLock.unlock();
+        }
+        trimIdleConnections();
+        addConnectionsAsync(getMinPoolSize());
+    }
+
+    public void setBorrowTimeoutMs(long borrowTimeoutMs) {
+        if (borrowTimeoutMs < 0) {
+            throw new IllegalArgumentException("Invalid borrow timeout: " + borrowTimeoutMs);
+        }
+        config.setBorrowTimeoutMs(borrowTimeoutMs);
+    }
+
+    public void setValidationIntervalMs(long validationIntervalMs) {
+        if (validationIntervalMs < 1) {
+            throw new IllegalArgumentException("Invalid validation interval: " + validationIntervalMs);
+        }
+        reconfigureLock.lock();
+        try {
+            if (config.getValidationIntervalMs() != validationIntervalMs) {
+                config.setValidationIntervalMs(validationIntervalMs);
+                scheduleHousekeeping();
+            }
+        } finally {
+            reconfigureLock.unlock();
+        }
+    }
+
+    StatementCache createStatementCache() {
+        int size = config.getStatementCacheSize();
+        return size > 0 ? new StatementCache(size, statementCacheHits, statementCacheMisses) : null;
+    }
+
+    void release(PooledConnection pooled) {
+        if (!pooled.isInUse()) {
+            return;
+        }
+        metrics.recordHoldTime(System.nanoTime() - pooled.getBorrowedAt());
+        try {
+            pooled.reset();
+        } catch (SQLException e) {
+            if (pooled.compareAndSetState(PooledConnection.IN_USE, PooledConnection.REMOVED)) {
+                discard(pooled);
+                permits.release();
+            }
+            return;
+        }
+        if (!pooled.compareAndSetState(PooledConnection.IN_USE, PooledConnection.IDLE)) {
+            return;
+        }
+        if (closed) {
+            discard(pooled);
+            return;
+        }
+        if ((isExpired(pooled, System.nanoTime()) || allConnections.size() > config.getMaxPoolSize())
+                && pooled.compareAndSetState(PooledConnection.IDLE, PooledConnection.REMOVED)) {
+            discard(pooled);
+            permits.release();
+            addConnectionsAsync(getMinPoolSize());
+            return;
+        }
+        idleConnections.offerFirst(pooled);
+        permits.release();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        connectionAdder.shutdownNow();
+        unregisterMBean();
+        for (PooledConnection pooled : allConnections) {
+            discard(pooled);
+        }
+        idleConnections.clear();
+    }
+
+    private void acquirePermit() {
+        long start = System.nanoTime();
+        long timeout = Deadline.capMillis(config.getBorrowTimeoutMs());
+        try {
+            boolean acquired = permits.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+            metrics.recordBorrowWait(System.nanoTime() - start);
+            if (!acquired) {
+                metrics.recordTimeout();
+                throw new ConnectionTimeoutException("Timed out after " + timeout
+                        + " ms waiting for a connection from pool " + config.getPoolName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private PooledConnection pollIdle() {
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            if (pooled.compareAndSetState(PooledConnection.IDLE, PooledConnection.IN_USE)) {
+                return pooled;
+            }
+        }
+        return null;
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.nanoTime();
+        if (isExpired(pooled, now)) {
+            return false;
+        }
+        return now - pooled.getLastAccessedAt() < ALIVE_BYPASS_NANOS || pooled.isValid(getValidationTimeoutSeconds());
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        long maxLifetime = config.getMaxLifetimeMs();
+        return maxLifetime > 0 && now - pooled.getCreatedAt() > TimeUnit.MILLISECONDS.toNanos(maxLifetime);
+    }
+
+    private void scheduleHousekeeping() {
+        ScheduledFuture<?> previous = housekeeping;
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        long validationInterval = config.getValidationIntervalMs();
+        try {
+            housekeeping = housekeeper.scheduleWithFixedDelay(this::housekeep, validationInterval,
+                    validationInterval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            housekeeping = null;
+        }
+    }
+
+    private void trimIdleConnections() {
+        PooledConnection pooled;
+        while (allConnections.size() > config.getMaxPoolSize() && (pooled = idleConnections.pollLast()) != null) {
+            if (pooled.compareAndSetState(PooledConnection.IDLE, PooledConnection.REMOVED)) {
+                discard(pooled);
+            }
+        }
+    }
+
+    private void housekeep() {
+        trimIdleConnections();
+        long now = System.nanoTime();
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMs());
+        List<PooledConnection> candidates = new ArrayList<>(idleConnections);
+        Collections.reverse(candidates);
+        for (PooledConnection pooled : candidates) {
+            if (!permits.tryAcquire()) {
+                break;
+            }
+            try {
+                if (!idleConnections.removeLastOccurrence(pooled)) {
+                    continue;
+                }
+                boolean evictable = config.getIdleTimeoutMs() > 0
+                        && allConnections.size() > getMinPoolSize()
+                        && now - pooled.getLastAccessedAt() > idleTimeoutNanos;
+                if (evictable || isExpired(pooled, now) || !pooled.isValid(getValidationTimeoutSeconds())) {
+                    if (pooled.compareAndSetState(PooledConnection.IDLE, PooledConnection.REMOVED)) {
+                        discard(pooled);
+                    }
+                } else {
+                    idleConnections.offerLast(pooled);
+                }
+            } finally {
+                permits.release();
+            }
+        }
+        int pressure = starvedBorrows.getAndSet(0);
+        if (pressure > 0) {
+            addConnectionsAsync(Math.min(config.getMaxPoolSize(), allConnections.size() + pressure));
+        } else {
+            addConnectionsAsync(getMinPoolSize());
+        }
+    }
+
+    private void addConnectionsAsync(int targetTotal) {
+        while (!closed) {
+            int pending = pendingAdds.get();
+            if (allConnections.size() + pending >= targetTotal) {
+                return;
+            }
+            if (pendingAdds.compareAndSet(pending, pending + 1)) {
+                try {
+                    connectionAdder.execute(this::addIdleConnection);
+                } catch (RejectedExecutionException e) {
+                    pendingAdds.decrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void addIdleConnection() {
+        try {
+            if (closed || allConnections.size() >= config.getMaxPoolSize()) {
+                return;
+            }
+            PooledConnection pooled = openConnection();
+            if (closed || allConnections.size() > config.getMaxPoolSize()) {
+                pooled.compareAndSetState(PooledConnection.IDLE, PooledConnection.REMOVED);
+                discard(pooled);
+                return;
+            }
+            idleConnections.offerLast(pooled);
+        } catch (RepositoryException e) {
+            System.err.println(e.getMessage());
+        } finally {
+            pendingAdds.decrementAndGet();
+        }
+    }
+
+    private int getMinPoolSize() {
+        return Math.min(config.getMinPoolSize(), config.getMaxPoolSize());
+    }
+
+    private ThreadFactory daemonThreadFactory(String role) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pool-" + config.getPoolName() + "-" + role);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private int getValidationTimeoutSeconds() {
+        return (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(config.getValidationTimeoutMs() + 999));
+    }
+
+    private void reclaimLeakedConnections() {
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLeakThresholdMs());
+        long now = System.nanoTime();
+        for (PooledConnection pooled : allConnections) {
+            if (pooled.isInUse() && !pooled.isLeakExempt() && now - pooled.getBorrowedAt() > thresholdNanos) {
+                Throwable trace = pooled.getBorrowTrace();
+                if (pooled.compareAndSetState(PooledConnection.IN_USE, PooledConnection.REMOVED)) {
+                    metrics.recordLeak();
+                    System.err.println("Connection leak detected in pool " + config.getPoolName()
+                            + ", connection held longer than " + config.getLeakThresholdMs() + " ms was reclaimed");
+                    if (trace != null) {
+                        trace.printStackTrace();
+                    }
+                    discard(pooled);
+                    permits.release();
+                    addConnectionsAsync(getMinPoolSize());
+                }
+            }
+        }
+    }
+
+    private ObjectName registerMBean() {
+        try {
+            ObjectName name = new ObjectName("homework.org.app:type=ConnectionPool,name=" + config.getPoolName());
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(metrics, name);
+            return name;
+        } catch (JMException e) {
+            System.err.println("Failed to register MBean for pool " + config.getPoolName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+        }
+    }
+
+    private PooledConnection openConnection() {
+        try {
+            Connection connection = DriverManager.getConnection(
+                    config.getUrl(),
+                    config.getUsername(),
+                    config.getPassword()
+            );
+            PooledConnection pooled = new PooledConnection(connection, this);
+            allConnections.add(pooled);
+            return pooled;
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to open connection for pool " + config.getPoolName(), e);
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        allConnections.remove(pooled);
+        pooled.closeQuietly();
+    }
+
+    private static class ResizableSemaphore extends Semaphore {
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package homework.org.app.util;
+
+public interface ConnectionPoolMXBean {
+    int getActiveConnections();
+    int getIdleConnections();
+    int getTotalConnections();
+    int getMinPoolSize();
+    int getMaxPoolSize();
+    int getThreadsAwaitingConnection();
+
+    double getBorrowWaitP50Millis();
+    double getBorrowWaitP99Millis();
+    double getBorrowWaitMaxMillis();
+
+    double getHoldTimeP50Millis();
+    double getHoldTimeP99Millis();
+    double getHoldTimeMaxMillis();
+
+    long getBorrowCount();
+    long getTimeoutCount();
+    long getLeakCount();
+
+    long getStatementCacheHits();
+    long getStatementCacheMisses();
+
+    long getBorrowTimeoutMillis();
+    void setBorrowTimeoutMillis(long borrowTimeoutMillis);
+    long getValidationIntervalMillis();
+    void setValidationIntervalMillis(long validationIntervalMillis);
+
+    void resize(int minPoolSize, int maxPoolSize);
+    void resetStatistics();
+}
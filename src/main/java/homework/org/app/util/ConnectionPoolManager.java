@@ -1,28 +1,16 @@
 package homework.org.app.util;
 
-import java.lang.reflect.Proxy;
+import java.nio.file.Path;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 
 public class ConnectionPoolManager {
 
-    private static final String URL_KEY = "db.url";
-    private static final String USERNAME_KEY = "db.username";
-    private static final String PASSWORD_KEY = "db.password";
-    private static final String POOL_SIZE = "db.pool.size";
-    private static final Integer DEFAULT_POOL_SIZE = 10;
-    private static  BlockingQueue<Connection> pool;
-    private static List<Connection> sourceConnections;
+    private static final String REPLICA_URLS_KEY = "db.replica.urls";
+    private static final String REPLICA_SELECTION_KEY = "db.replica.selection";
     private static final ConnectionPoolManager INSTANCE = new ConnectionPoolManager();
 
-    static {
-        loadDriver();
-        initConnectionPool();
-    }
-
     private ConnectionPoolManager() {
     }
 
@@ -30,41 +18,16 @@ public class ConnectionPoolManager {
         return INSTANCE;
     }
 
-    private static void initConnectionPool() {
-        var poolSize = PropertiesUtil.get(POOL_SIZE);
-        var size = poolSize == null ? DEFAULT_POOL_SIZE : Integer.parseInt(poolSize);
-        pool = new ArrayBlockingQueue<>(size);
-        sourceConnections = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            var connection = open();
-            var proxyConnection = (Connection)
-                    Proxy.newProxyInstance(ConnectionPoolManager.class.getClassLoader(),
-                    new Class[]{Connection.class},
-                    (proxy, method, args) -> method.getName().equals("close")
-            ? pool.add((Connection)proxy) : method.invoke(connection, args));
-            pool.add(proxyConnection);
-            sourceConnections.add(connection);
-        }
+    public static ConnectionPool getPool() {
+        return PoolHolder.POOL;
     }
 
-    public static Connection get() {
-        try {
-            return pool.take();
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+    public static ConnectionProvider getConnectionProvider() {
+        return ProviderHolder.PROVIDER;
     }
 
-    private static Connection open() {
-        try {
-            return DriverManager.getConnection(
-                    PropertiesUtil.get(URL_KEY),
-                    PropertiesUtil.get(USERNAME_KEY),
-                    PropertiesUtil.get(PASSWORD_KEY)
-            );
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    public static Connection get() {
+        return getPool().getConnection();
     }
 
     private static void loadDriver() {
@@ -76,64 +39,64 @@ public class ConnectionPoolManager {
     }
 
     public static void closePool() {
-        try {
-            for (Connection sourceConnection : sourceConnections) {
-                sourceConnection.close();
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        getPool().close();
     }
 
     public static Statement createStatement() throws SQLException {
         Connection conn = get();
-        Statement realStatement = conn.createStatement();
+        Statement realStatement;
+        try {
+            realStatement = conn.createStatement();
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
 
-        return (Statement) Proxy.newProxyInstance(
-                ConnectionPoolManager.class.getClassLoader(),
-                new Class[]{Statement.class},
-                (proxy, method, args) -> {
-                    if (method.getName().equals("close")) {
-                        realStatement.close();
-                        return pool.offer(conn);
-                    }
-                    return method.invoke(realStatement, args);
-                }
-        );
+        return new DelegatingStatement(realStatement) {
+            @Override
+            public void close() throws SQLException {
+                realStatement.close();
+                conn.close();
+            }
+        };
     }
 
     public static PreparedStatement prepareStatement(String sql) throws SQLException {
         Connection conn = get();
-        PreparedStatement realStatement = conn.prepareStatement(sql);
+        PreparedStatement realStatement;
+        try {
+            realStatement = conn.prepareStatement(sql);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
 
-        return (PreparedStatement) Proxy.newProxyInstance(
-                ConnectionPoolManager.class.getClassLoader(),
-                new Class[]{PreparedStatement.class},
-                (proxy, method, args) -> {
-                    if (method.getName().equals("close")) {
-                        realStatement.close();
-                        return pool.offer(conn); // Возвращаем соединение в пул!
-                    }
-                    return method.invoke(realStatement, args);
-                }
-        );
+        return new DelegatingPreparedStatement(realStatement) {
+            @Override
+            public void close() throws SQLException {
+                realStatement.close();
+                conn.close();
+            }
+        };
     }
 
     public static PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
         Connection conn = get();
-        PreparedStatement realStatement = conn.prepareStatement(sql, autoGeneratedKeys);
+        PreparedStatement realStatement;
+        try {
+            realStatement = conn.prepareStatement(sql, autoGeneratedKeys);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
 
-        return (PreparedStatement) Proxy.newProxyInstance(
-                ConnectionPoolManager.class.getClassLoader(),
-                new Class[]{PreparedStatement.class},
-                (proxy, method, args) -> {
-                    if (method.getName().equals("close")) {
-                        realStatement.close();
-                        return pool.offer(conn);
-                    }
-                    return method.invoke(realStatement, args);
-                }
-        );
+        return new DelegatingPreparedStatement(realStatement) {
+            @Override
+            public void close() throws SQLException {
+                realStatement.close();
+                conn.close();
+            }
+        };
     }
 
     public static void setParameters(PreparedStatement statement, Object... params) throws SQLException {
@@ -142,22 +105,69 @@ public class ConnectionPoolManager {
         }
     }
 
+    public static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
     public static ResultSet setParametersAndExecuteQuery(PreparedStatement prepStatement, Object... params) throws SQLException {
         setParameters(prepStatement, params);
 
         ResultSet realResultSet = prepStatement.executeQuery();
 
-        return (ResultSet) Proxy.newProxyInstance(
-                ConnectionPoolManager.class.getClassLoader(),
-                new Class[]{ResultSet.class},
-                (proxy, method, args) -> {
-                    if (method.getName().equals("close")) {
-                        realResultSet.close();
-                        prepStatement.close();
-                        return null;
-                    }
-                    return method.invoke(realResultSet, args);
-                }
-        );
+        return new DelegatingResultSet(realResultSet) {
+            @Override
+            public void close() throws SQLException {
+                realResultSet.close();
+                prepStatement.close();
+            }
+        };
+    }
+
+    private static ConnectionProvider createConnectionProvider() {
+        ConnectionProvider routingProvider = createRoutingProvider();
+        Path configFile = PropertiesUtil.getConfigFile();
+        if (configFile != null) {
+            List<ConnectionPool> pools = new ArrayList<>();
+            if (routingProvider instanceof RoutingConnectionProvider routing) {
+                pools.add(routing.getPrimary());
+                pools.addAll(routing.getReplicas());
+            } else {
+                pools.add(getPool());
+            }
+            new PoolConfigWatcher(configFile, pools).start();
+        }
+        return BulkheadConnectionProvider.fromProperties(routingProvider);
+    }
+
+    private static ConnectionProvider createRoutingProvider() {
+        var replicaUrls = PropertiesUtil.get(REPLICA_URLS_KEY);
+        if (replicaUrls == null || replicaUrls.isBlank()) {
+            return getPool();
+        }
+        List<ConnectionPool> replicas = new ArrayList<>();
+        String[] urls = replicaUrls.split(",");
+        for (int i = 0; i < urls.length; i++) {
+            PoolConfig config = PoolConfig.fromProperties();
+            config.setPoolName("replica-" + (i + 1));
+            config.setUrl(urls[i].trim());
+            replicas.add(new ConnectionPool(config));
+        }
+        var selection = PropertiesUtil.get(REPLICA_SELECTION_KEY);
+        return new RoutingConnectionProvider(getPool(), replicas, selection == null || selection.isBlank()
+                ? ReplicaSelection.ROUND_ROBIN
+                : ReplicaSelection.valueOf(selection.trim().toUpperCase()));
+    }
+
+    private static class PoolHolder {
+        private static final ConnectionPool POOL;
+
+        static {
+            loadDriver();
+            POOL = new ConnectionPool(PoolConfig.fromProperties());
+        }
+    }
+
+    private static class ProviderHolder {
+        private static final ConnectionProvider PROVIDER = createConnectionProvider();
     }
 }
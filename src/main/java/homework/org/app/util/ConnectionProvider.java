@@ -0,0 +1,16 @@
+package homework.org.app.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public interface ConnectionProvider {
+    Connection getConnection() throws SQLException;
+
+    default Connection getReadConnection() throws SQLException {
+        return getConnection();
+    }
+
+    default Connection getConnection(Lane lane) throws SQLException {
+        return lane == Lane.WRITE ? getConnection() : getReadConnection();
+    }
+}
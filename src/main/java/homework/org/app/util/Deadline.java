@@ -0,0 +1,91 @@
+package homework.org.app.util;
+
+import homework.org.app.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Duration budget;
+
+    private Deadline(long deadlineNanos, Duration budget) {
+        this.deadlineNanos = deadlineNanos;
+        this.budget = budget;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), budget);
+    }
+
+    public static Deadline afterMillis(long millis) {
+        return after(Duration.ofMillis(millis));
+    }
+
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static long capMillis(long millis) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? millis : Math.min(millis, deadline.remainingMillis());
+    }
+
+    public long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public int remainingSeconds() {
+        long nanos = remainingNanos();
+        return (int) Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Deadline of " + budget.toMillis() + " ms exceeded");
+        }
+    }
+
+    public <T> T call(Supplier<T> work) {
+        Deadline previous = CURRENT.get();
+        Deadline effective = previous != null && previous.deadlineNanos - deadlineNanos < 0 ? previous : this;
+        effective.check();
+        CURRENT.set(effective);
+        try {
+            return work.get();
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (effective.isExpired()) {
+                throw new DeadlineExceededException("Deadline of " + effective.budget.toMillis()
+                        + " ms exceeded", e);
+            }
+            throw e;
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package homework.org.app.util;
+
+import homework.org.app.exception.RepositoryException;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@AllArgsConstructor
+public class JdbcTransactionManager implements TransactionManager, ConnectionProvider {
+
+    private final ConnectionProvider connectionProvider;
+    private final ThreadLocal<Connection> boundConnection = new ThreadLocal<>();
+    private final ThreadLocal<List<Runnable>> pendingActions = new ThreadLocal<>();
+    private final ReentrantLock commitOrder = new ReentrantLock();
+
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        if (boundConnection.get() != null) {
+            return work.get();
+        }
+        List<Runnable> actions = new ArrayList<>();
+        try (Connection connection = connectionProvider.getConnection(Lane.WRITE)) {
+            connection.setAutoCommit(false);
+            boundConnection.set(connection);
+            pendingActions.set(actions);
+            T result;
+            try {
+                result = work.get();
+            } catch (RuntimeException e) {
+                rollback(connection, e);
+                throw e;
+            } finally {
+                boundConnection.remove();
+                pendingActions.remove();
+            }
+            commit(connection, actions);
+            return result;
+        } catch (SQLException e) {
+            throw new RepositoryException("Failed to complete transaction", e);
+        }
+    }
+
+    @Override
+    public void afterCommit(Runnable action) {
+        List<Runnable> actions = pendingActions.get();
+        if (actions == null) {
+            action.run();
+        } else {
+            actions.add(action);
+        }
+    }
+
+    public boolean isInTransaction() {
+        return boundConnection.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = boundConnection.get();
+        return connection != null ? new BoundConnection(connection) : connectionProvider.getConnection();
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        Connection connection = boundConnection.get();
+        return connection != null ? new BoundConnection(connection) : connectionProvider.getReadConnection();
+    }
+
+    @Override
+    public Connection getConnection(Lane lane) throws SQLException {
+        Connection connection = boundConnection.get();
+        return connection != null ? new BoundConnection(connection) : connectionProvider.getConnection(lane);
+    }
+
+    private void commit(Connection connection, List<Runnable> actions) throws SQLException {
+        if (actions.isEmpty()) {
+            commitOrRollback(connection);
+            return;
+        }
+        commitOrder.lock();
+        try {
+            commitOrRollback(connection);
+            actions.forEach(Runnable::run);
+        } finally {
+            commitOrder.unlock();
+        }
+    }
+
+    private void commitOrRollback(Connection connection) throws SQLException {
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            rollback(connection, e);
+            throw e;
+        }
+    }
+
+    private void rollback(Connection connection, Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static class BoundConnection extends DelegatingConnection {
+
+        BoundConnection(Connection delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
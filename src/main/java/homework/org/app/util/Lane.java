@@ -0,0 +1,14 @@
+package homework.org.app.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum Lane {
+    OLTP_READ("oltp-read"),
+    WRITE("write"),
+    SCAN("scan");
+
+    private final String key;
+}
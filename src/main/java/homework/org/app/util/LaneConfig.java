@@ -0,0 +1,37 @@
+package homework.org.app.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LaneConfig {
+
+    private static final String LANE_KEY_PREFIX = "db.lane.";
+    private static final String CAPACITY_SUFFIX = ".capacity";
+    private static final String QUEUE_LIMIT_SUFFIX = ".queueLimit";
+    private static final String MAX_WAIT_SUFFIX = ".maxWaitMs";
+
+    private static final int DEFAULT_CAPACITY = 2;
+    private static final int DEFAULT_SCAN_CAPACITY = 1;
+    private static final int DEFAULT_QUEUE_LIMIT = 32;
+    private static final int DEFAULT_SCAN_QUEUE_LIMIT = 2;
+    private static final long DEFAULT_MAX_WAIT_MS = 5_000;
+
+    private int capacity = DEFAULT_CAPACITY;
+    private int queueLimit = DEFAULT_QUEUE_LIMIT;
+    private long maxWaitMs = DEFAULT_MAX_WAIT_MS;
+
+    public static LaneConfig fromProperties(Lane lane) {
+        String prefix = LANE_KEY_PREFIX + lane.getKey();
+        boolean scan = lane == Lane.SCAN;
+        return new LaneConfig(
+                PropertiesUtil.getInt(prefix + CAPACITY_SUFFIX, scan ? DEFAULT_SCAN_CAPACITY : DEFAULT_CAPACITY),
+                PropertiesUtil.getInt(prefix + QUEUE_LIMIT_SUFFIX, scan ? DEFAULT_SCAN_QUEUE_LIMIT : DEFAULT_QUEUE_LIMIT),
+                PropertiesUtil.getLong(prefix + MAX_WAIT_SUFFIX, DEFAULT_MAX_WAIT_MS));
+    }
+}
@@ -0,0 +1,15 @@
+package homework.org.app.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public interface LongLivedBorrow {
+
+    void exemptFromLeakDetection();
+
+    static void exemptFromLeakDetection(Connection connection) throws SQLException {
+        if (connection.isWrapperFor(LongLivedBorrow.class)) {
+            connection.unwrap(LongLivedBorrow.class).exemptFromLeakDetection();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package homework.org.app.util;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PoolConfig {
+
+    private static final String URL_KEY = "db.url";
+    private static final String USERNAME_KEY = "db.username";
+    private static final String PASSWORD_KEY = "db.password";
+    private static final String POOL_MIN_KEY = "db.pool.min";
+    private static final String POOL_MAX_KEY = "db.pool.max";
+    private static final String LEGACY_POOL_SIZE_KEY = "db.pool.size";
+    private static final String BORROW_TIMEOUT_KEY = "db.pool.borrowTimeoutMs";
+    private static final String LEAK_THRESHOLD_KEY = "db.pool.leakThresholdMs";
+    private static final String IDLE_TIMEOUT_KEY = "db.pool.idleTimeoutMs";
+    private static final String MAX_LIFETIME_KEY = "db.pool.maxLifetimeMs";
+    private static final String VALIDATION_INTERVAL_KEY = "db.pool.validationIntervalMs";
+    private static final String VALIDATION_TIMEOUT_KEY = "db.pool.validationTimeoutMs";
+    private static final String STATEMENT_CACHE_SIZE_KEY = "db.pool.statementCacheSize";
+
+    private static final int DEFAULT_MIN_POOL_SIZE = 2;
+    private static final int DEFAULT_MAX_POOL_SIZE = 10;
+    private static final long DEFAULT_BORROW_TIMEOUT_MS = 30_000;
+    private static final long DEFAULT_LEAK_THRESHOLD_MS = 60_000;
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 600_000;
+    private static final long DEFAULT_MAX_LIFETIME_MS = 1_800_000;
+    private static final long DEFAULT_VALIDATION_INTERVAL_MS = 30_000;
+    private static final long DEFAULT_VALIDATION_TIMEOUT_MS = 1_000;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    private String poolName = "main";
+    private String url;
+    private String username;
+    private String password;
+    private volatile int minPoolSize = DEFAULT_MIN_POOL_SIZE;
+    private volatile int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+    private volatile long borrowTimeoutMs = DEFAULT_BORROW_TIMEOUT_MS;
+    private long leakThresholdMs = DEFAULT_LEAK_THRESHOLD_MS;
+    private long idleTimeoutMs = DEFAULT_IDLE_TIMEOUT_MS;
+    private long maxLifetimeMs = DEFAULT_MAX_LIFETIME_MS;
+    private volatile long validationIntervalMs = DEFAULT_VALIDATION_INTERVAL_MS;
+    private long validationTimeoutMs = DEFAULT_VALIDATION_TIMEOUT_MS;
+    private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+
+    public static PoolConfig fromProperties() {
+        PoolConfig config = new PoolConfig();
+        config.setUrl(PropertiesUtil.get(URL_KEY));
+        config.setUsername(PropertiesUtil.get(USERNAME_KEY));
+        config.setPassword(PropertiesUtil.get(PASSWORD_KEY));
+        config.setMaxPoolSize(PropertiesUtil.getInt(POOL_MAX_KEY,
+                PropertiesUtil.getInt(LEGACY_POOL_SIZE_KEY, DEFAULT_MAX_POOL_SIZE)));
+        config.setMinPoolSize(PropertiesUtil.getInt(POOL_MIN_KEY,
+                Math.min(DEFAULT_MIN_POOL_SIZE, config.getMaxPoolSize())));
+        config.setBorrowTimeoutMs(PropertiesUtil.getLong(BORROW_TIMEOUT_KEY, DEFAULT_BORROW_TIMEOUT_MS));
+        config.setLeakThresholdMs(PropertiesUtil.getLong(LEAK_THRESHOLD_KEY, DEFAULT_LEAK_THRESHOLD_MS));
+        config.setIdleTimeoutMs(PropertiesUtil.getLong(IDLE_TIMEOUT_KEY, DEFAULT_IDLE_TIMEOUT_MS));
+        config.setMaxLifetimeMs(PropertiesUtil.getLong(MAX_LIFETIME_KEY, DEFAULT_MAX_LIFETIME_MS));
+        config.setValidationIntervalMs(PropertiesUtil.getLong(VALIDATION_INTERVAL_KEY,
+                DEFAULT_VALIDATION_INTERVAL_MS));
+        config.setValidationTimeoutMs(PropertiesUtil.getLong(VALIDATION_TIMEOUT_KEY, DEFAULT_VALIDATION_TIMEOUT_MS));
+        config.setStatementCacheSize(PropertiesUtil.getInt(STATEMENT_CACHE_SIZE_KEY, DEFAULT_STATEMENT_CACHE_SIZE));
+        return config;
+    }
+}
@@ -0,0 +1,83 @@
+package homework.org.app.util;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+
+public class PoolConfigWatcher implements AutoCloseable {
+
+    private final Path configFile;
+    private final List<ConnectionPool> pools;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public PoolConfigWatcher(Path configFile, List<ConnectionPool> pools) {
+        this.configFile = configFile.toAbsolutePath();
+        this.pools = List.copyOf(pools);
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.configFile.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to watch " + configFile, e);
+        }
+        this.thread = new Thread(this::watch, "pool-config-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public PoolConfigWatcher start() {
+        thread.start();
+        return this;
+    }
+
+    public void reload() {
+        PropertiesUtil.reload(configFile);
+        PoolConfig update = PoolConfig.fromProperties();
+        for (ConnectionPool pool : pools) {
+            pool.reconfigure(update);
+        }
+        System.out.println("Pool settings reloaded from " + configFile + ": min " + update.getMinPoolSize()
+                + ", max " + update.getMaxPoolSize() + ", borrow timeout " + update.getBorrowTimeoutMs()
+                + " ms, validation interval " + update.getValidationIntervalMs() + " ms");
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+        }
+        thread.interrupt();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path path && path.equals(configFile.getFileName())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    try {
+                        reload();
+                    } catch (RuntimeException e) {
+                        System.err.println("Failed to reload pool settings from " + configFile + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package homework.org.app.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolMetrics implements ConnectionPoolMXBean {
+
+    private final ConnectionPool pool;
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+
+    PoolMetrics(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    void recordBorrowWait(long nanos) {
+        borrowWait.record(nanos);
+    }
+
+    void recordHoldTime(long nanos) {
+        holdTime.record(nanos);
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    void recordLeak() {
+        leaks.increment();
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return pool.getActiveCount();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return pool.getIdleCount();
+    }
+
+    @Override
+    public int getTotalConnections() {
+        return pool.getTotalCount();
+    }
+
+    @Override
+    public int getMinPoolSize() {
+        return pool.getConfig().getMinPoolSize();
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+        return pool.getConfig().getMaxPoolSize();
+    }
+
+    @Override
+    public int getThreadsAwaitingConnection() {
+        return pool.getThreadsAwaitingConnection();
+    }
+
+    @Override
+    public double getBorrowWaitP50Millis() {
+        return borrowWait.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getBorrowWaitP99Millis() {
+        return borrowWait.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getBorrowWaitMaxMillis() {
+        return borrowWait.getMaxMillis();
+    }
+
+    @Override
+    public double getHoldTimeP50Millis() {
+        return holdTime.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getHoldTimeP99Millis() {
+        return holdTime.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getHoldTimeMaxMillis() {
+        return holdTime.getMaxMillis();
+    }
+
+    @Override
+    public long getBorrowCount() {
+        return borrowWait.getCount();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public long getLeakCount() {
+        return leaks.sum();
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return pool.getStatementCacheHits();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return pool.getStatementCacheMisses();
+    }
+
+    @Override
+    public long getBorrowTimeoutMillis() {
+        return pool.getConfig().getBorrowTimeoutMs();
+    }
+
+    @Override
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        pool.setBorrowTimeoutMs(borrowTimeoutMillis);
+    }
+
+    @Override
+    public long getValidationIntervalMillis() {
+        return pool.getConfig().getValidationIntervalMs();
+    }
+
+    @Override
+    public void setValidationIntervalMillis(long validationIntervalMillis) {
+        pool.setValidationIntervalMs(validationIntervalMillis);
+    }
+
+    @Override
+    public void resize(int minPoolSize, int maxPoolSize) {
+        pool.resize(minPoolSize, maxPoolSize);
+    }
+
+    @Override
+    public void resetStatistics() {
+        borrowWait.reset();
+        holdTime.reset();
+        timeouts.reset();
+        leaks.reset();
+    }
+}
@@ -0,0 +1,161 @@
+package homework.org.app.util;
+
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PooledConnection {
+
+    static final int IDLE = 0;
+    static final int IN_USE = 1;
+    static final int REMOVED = 2;
+
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    @Getter
+    private final Connection connection;
+    private final ConnectionPool pool;
+
+    @Getter
+    private final long createdAt = System.nanoTime();
+    @Getter
+    private volatile long lastAccessedAt = createdAt;
+    @Getter
+    private volatile long borrowedAt;
+    @Getter
+    private volatile Throwable borrowTrace;
+    @Getter
+    private volatile boolean leakExempt;
+
+    private final StatementCache statementCache;
+
+    PooledConnection(Connection connection, ConnectionPool pool) {
+        this.connection = connection;
+        this.pool = pool;
+        this.statementCache = pool.createStatementCache();
+    }
+
+    boolean compareAndSetState(int expected, int newState) {
+        return state.compareAndSet(expected, newState);
+    }
+
+    boolean isInUse() {
+        return state.get() == IN_USE;
+    }
+
+    Connection borrow(Throwable trace) {
+        borrowedAt = System.nanoTime();
+        borrowTrace = trace;
+        leakExempt = false;
+        return new ConnectionHandle(connection);
+    }
+
+    boolean isValid(int timeoutSeconds) {
+        try {
+            return connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void reset() throws SQLException {
+        borrowTrace = null;
+        lastAccessedAt = System.nanoTime();
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    void closeQuietly() {
+        if (statementCache != null) {
+            statementCache.close();
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+        }
+    }
+
+    private class ConnectionHandle extends DelegatingConnection implements LongLivedBorrow {
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        ConnectionHandle(Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                pool.release(PooledConnection.this);
+            }
+        }
+
+        @Override
+        public boolean isClosed() throws SQLException {
+            return closed.get() || state.get() != IN_USE || connection.isClosed();
+        }
+
+        @Override
+        public void exemptFromLeakDetection() {
+            if (!closed.get()) {
+                leakExempt = true;
+            }
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return iface.cast(this);
+            }
+            return super.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || super.isWrapperFor(iface);
+        }
+
+        @Override
+        public Statement createStatement() throws SQLException {
+            checkOpen();
+            return StatementDeadlines.apply(super.createStatement());
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            checkOpen();
+            if (statementCache == null) {
+                return StatementDeadlines.apply(super.prepareStatement(sql));
+            }
+            return StatementDeadlines.apply(statementCache.prepare(connection, sql, StatementCache.NO_GENERATED_KEYS));
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+                throws SQLException {
+            checkOpen();
+            return StatementDeadlines.apply(super.prepareStatement(sql, resultSetType, resultSetConcurrency));
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+            checkOpen();
+            if (statementCache == null) {
+                return StatementDeadlines.apply(super.prepareStatement(sql, autoGeneratedKeys));
+            }
+            return StatementDeadlines.apply(statementCache.prepare(connection, sql, autoGeneratedKeys));
+        }
+
+        private void checkOpen() throws SQLException {
+            if (closed.get()) {
+                throw new SQLException("Connection handle is already closed");
+            }
+        }
+    }
+}
@@ -1,29 +1,62 @@
 package homework.org.app.util;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Properties;
 
 public final class PropertiesUtil {
 
-    private static final Properties PROPERTIES = new Properties();
+    public static final String CONFIG_FILE_PROPERTY = "app.config";
 
-    static {
-        loadProperties();
-    }
+    private static volatile Properties properties = load(getConfigFile());
 
     private PropertiesUtil() {
     }
 
     public static String get(String key) {
-        return PROPERTIES.getProperty(key);
+        return properties.getProperty(key);
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        var value = get(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        var value = get(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    public static Path getConfigFile() {
+        var configFile = System.getProperty(CONFIG_FILE_PROPERTY);
+        return configFile == null || configFile.isBlank() ? null : Path.of(configFile);
+    }
+
+    public static void reload() {
+        reload(getConfigFile());
     }
 
-    private static void loadProperties() {
+    public static void reload(Path overrides) {
+        properties = load(overrides);
+    }
+
+    private static Properties load(Path overrides) {
+        Properties loaded = new Properties();
         try (var inputStream = PropertiesUtil.class.getClassLoader()
                                                    .getResourceAsStream("application.properties")) {
-            PROPERTIES.load(inputStream);
+            loaded.load(inputStream);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        if (overrides != null && Files.exists(overrides)) {
+            try (InputStream inputStream = Files.newInputStream(overrides)) {
+                loaded.load(inputStream);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return loaded;
     }
 }
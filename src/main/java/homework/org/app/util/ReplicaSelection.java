@@ -0,0 +1,6 @@
+package homework.org.app.util;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_BUSY
+}
@@ -0,0 +1,95 @@
+package homework.org.app.util;
+
+import homework.org.app.exception.RepositoryException;
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RoutingConnectionProvider implements ConnectionProvider, AutoCloseable {
+
+    @Getter
+    private final ConnectionPool primary;
+    @Getter
+    private final List<ConnectionPool> replicas;
+    private final ReplicaSelection selection;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+
+    public RoutingConnectionProvider(ConnectionPool primary, List<ConnectionPool> replicas, ReplicaSelection selection) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return new PrimaryConnection(primary.getConnection());
+    }
+
+    @Override
+    public Connection getReadConnection() {
+        Connection transaction = transactionConnection.get();
+        if (transaction != null) {
+            return new DelegatingConnection(transaction) {
+                @Override
+                public void close() {
+                }
+            };
+        }
+        if (replicas.isEmpty()) {
+            return getConnection();
+        }
+        ConnectionPool replica = selectReplica();
+        try {
+            return replica.getConnection();
+        } catch (RepositoryException e) {
+            System.err.println("Replica " + replica.getConfig().getPoolName()
+                    + " unavailable, reading from primary: " + e.getMessage());
+            return getConnection();
+        }
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+        replicas.forEach(ConnectionPool::close);
+    }
+
+    private ConnectionPool selectReplica() {
+        if (selection == ReplicaSelection.LEAST_BUSY) {
+            return replicas.stream()
+                           .min(Comparator.comparingInt(pool -> pool.getActiveCount() + pool.getThreadsAwaitingConnection()))
+                           .orElseThrow();
+        }
+        return replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+    }
+
+    private class PrimaryConnection extends DelegatingConnection {
+
+        PrimaryConnection(Connection delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void setAutoCommit(boolean autoCommit) throws SQLException {
+            super.setAutoCommit(autoCommit);
+            if (!autoCommit) {
+                transactionConnection.set(this);
+            } else if (transactionConnection.get() == this) {
+                transactionConnection.remove();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (transactionConnection.get() == this) {
+                transactionConnection.remove();
+            }
+            super.close();
+        }
+    }
+}
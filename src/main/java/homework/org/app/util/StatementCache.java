@@ -0,0 +1,120 @@
+package homework.org.app.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+class StatementCache {
+
+    static final int NO_GENERATED_KEYS = -1;
+
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final Map<Key, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private final Lock lock = new ReentrantLock();
+
+    StatementCache(int maxSize, LongAdder hits, LongAdder misses) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    PreparedStatement prepare(Connection connection, String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        PreparedStatement statement;
+        lock.lock();
+        try {
+            statement = statements.remove(key);
+        } finally {
+            lock.unlock();
+        }
+        if (statement == null || statement.isClosed()) {
+            misses.increment();
+            statement = autoGeneratedKeys == NO_GENERATED_KEYS
+                    ? connection.prepareStatement(sql)
+                    : connection.prepareStatement(sql, autoGeneratedKeys);
+        } else {
+            hits.increment();
+        }
+        return wrap(key, statement);
+    }
+
+    void close() {
+        List<PreparedStatement> cached;
+        lock.lock();
+        try {
+            cached = new ArrayList<>(statements.values());
+            statements.clear();
+        } finally {
+            lock.unlock();
+        }
+        cached.forEach(StatementCache::closeQuietly);
+    }
+
+    private PreparedStatement wrap(Key key, PreparedStatement statement) {
+        return new DelegatingPreparedStatement(statement) {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    closed = true;
+                    release(key, statement);
+                }
+            }
+
+            @Override
+            public boolean isClosed() throws SQLException {
+                return closed || statement.isClosed();
+            }
+        };
+    }
+
+    private void release(Key key, PreparedStatement statement) {
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+        PreparedStatement replaced;
+        PreparedStatement evicted = null;
+        lock.lock();
+        try {
+            replaced = statements.put(key, statement);
+            if (statements.size() > maxSize) {
+                Iterator<PreparedStatement> eldest = statements.values().iterator();
+                evicted = eldest.next();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (replaced != null && replaced != statement) {
+            closeQuietly(replaced);
+        }
+        if (evicted != null) {
+            closeQuietly(evicted);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+        }
+    }
+
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+}
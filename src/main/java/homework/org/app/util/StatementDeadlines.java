@@ -0,0 +1,108 @@
+package homework.org.app.util;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class StatementDeadlines {
+
+    private static final ScheduledThreadPoolExecutor CANCELLER = createCanceller();
+
+    private StatementDeadlines() {
+    }
+
+    static PreparedStatement apply(PreparedStatement statement) throws SQLException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return statement;
+        }
+        ArmedStatement armed = new ArmedStatement(statement, deadline);
+        return new DelegatingPreparedStatement(statement) {
+            @Override
+            public void close() throws SQLException {
+                armed.disarm();
+            }
+        };
+    }
+
+    static Statement apply(Statement statement) throws SQLException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return statement;
+        }
+        ArmedStatement armed = new ArmedStatement(statement, deadline);
+        return new DelegatingStatement(statement) {
+            @Override
+            public void close() throws SQLException {
+                armed.disarm();
+            }
+        };
+    }
+
+    private static ScheduledThreadPoolExecutor createCanceller() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "statement-deadline-canceller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private static class ArmedStatement {
+
+        private final Statement statement;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ScheduledFuture<?> cancellation;
+        private boolean disarmed;
+
+        ArmedStatement(Statement statement, Deadline deadline) throws SQLException {
+            this.statement = statement;
+            try {
+                deadline.check();
+                statement.setQueryTimeout(deadline.remainingSeconds());
+            } catch (SQLException | RuntimeException e) {
+                statement.close();
+                throw e;
+            }
+            this.cancellation = CANCELLER.schedule(this::cancel, deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        void disarm() throws SQLException {
+            lock.lock();
+            try {
+                if (disarmed) {
+                    return;
+                }
+                disarmed = true;
+            } finally {
+                lock.unlock();
+            }
+            cancellation.cancel(false);
+            try {
+                if (!statement.isClosed()) {
+                    statement.setQueryTimeout(0);
+                }
+            } finally {
+                statement.close();
+            }
+        }
+
+        private void cancel() {
+            lock.lock();
+            try {
+                if (!disarmed) {
+                    statement.cancel();
+                }
+            } catch (SQLException e) {
+                System.err.println("Failed to cancel statement past its deadline: " + e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package homework.org.app.util;
+
+import java.util.function.Supplier;
+
+public interface TransactionManager {
+    <T> T inTransaction(Supplier<T> work);
+
+    default void afterCommit(Runnable action) {
+        action.run();
+    }
+
+    default void inTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
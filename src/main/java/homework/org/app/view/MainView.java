@@ -15,7 +15,8 @@ import homework.org.app.service.WriterService;
 import homework.org.app.service.impl.LabelServiceImpl;
 import homework.org.app.service.impl.PostServiceImpl;
 import homework.org.app.service.impl.WriterServiceImpl;
-import homework.org.app.util.ConnectionManager;
+import homework.org.app.util.ConnectionPoolManager;
+import homework.org.app.util.JdbcTransactionManager;
 
 import java.util.InputMismatchException;
 import java.util.Scanner;
@@ -25,17 +26,17 @@ public class MainView {
     private final WriterView writerView;
     private final PostView postView;
     private final LabelView labelView;
-    ConnectionManager connectionManager = ConnectionManager.getInstance();
+    JdbcTransactionManager transactionManager = new JdbcTransactionManager(ConnectionPoolManager.getConnectionProvider());
 
     public MainView() {
         this.scanner = new Scanner(System.in);
-        WriterRepository writerRepository = new JdbcWriterRepositoryImpl(connectionManager);
-        PostRepository postRepository = new JdbcPostRepositoryImpl(connectionManager);
-        LabelRepository labelRepository = new JdbcLabelRepositoryImpl(connectionManager);
+        WriterRepository writerRepository = new JdbcWriterRepositoryImpl(transactionManager);
+        PostRepository postRepository = new JdbcPostRepositoryImpl(transactionManager);
+        LabelRepository labelRepository = new JdbcLabelRepositoryImpl(transactionManager);
 
-        WriterService writerService = new WriterServiceImpl(writerRepository);
-        PostService postService = new PostServiceImpl(postRepository);
-        LabelService labelService = new LabelServiceImpl(labelRepository);
+        WriterService writerService = new WriterServiceImpl(writerRepository, transactionManager);
+        PostService postService = new PostServiceImpl(postRepository, transactionManager);
+        LabelService labelService = new LabelServiceImpl(labelRepository, transactionManager);
 
         WriterController writerController = new WriterController(writerService);
         PostController postController = new PostController(postService);
@@ -0,0 +1,13 @@
+--liquibase formatted sql
+--changeset dgizzyatov:1
+
+CREATE INDEX idx_post_label_label_post ON post_label (label_id, post_id);
+
+--changeset dgizzyatov:2
+
+CREATE INDEX idx_post_writer_status ON post (writer_id, status, id);
+
+--changeset dgizzyatov:3
+--comment: findByWriter without a status filter orders by id within a writer; (writer_id, status, id) cannot serve that sort
+
+CREATE INDEX idx_post_writer_id ON post (writer_id, id);
@@ -0,0 +1,4 @@
+--liquibase formatted sql
+--changeset dgizzyatov:1
+
+CREATE FULLTEXT INDEX idx_post_content_fulltext ON post (content);
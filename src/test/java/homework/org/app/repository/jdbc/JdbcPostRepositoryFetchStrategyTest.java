@@ -0,0 +1,95 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.model.Writer;
+import homework.org.app.repository.FetchStrategy;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.CountingConnectionProvider;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcPostRepositoryFetchStrategyTest {
+
+    private static final String CONTENT = "x".repeat(1_000);
+
+    private ConnectionPool pool;
+    private CountingConnectionProvider counting;
+    private JdbcPostRepositoryImpl joined;
+    private JdbcPostRepositoryImpl separate;
+    private final List<Long> postIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(2);
+        counting = new CountingConnectionProvider(pool);
+        joined = new JdbcPostRepositoryImpl(counting, FetchStrategy.JOIN);
+        separate = new JdbcPostRepositoryImpl(counting, FetchStrategy.SEPARATE_QUERIES);
+
+        JdbcLabelRepositoryImpl labelRepository = new JdbcLabelRepositoryImpl(pool);
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            labels.add(labelRepository.save(new Label(null, "label-" + i)));
+        }
+        Writer writer = new JdbcWriterRepositoryImpl(pool).save(new Writer(null, "Ivan", "Petrov", null));
+        for (int i = 0; i < 6; i++) {
+            Post post = new Post();
+            post.setContent(CONTENT + i);
+            post.setWriter(writer);
+            post.setLabels(labels.subList(0, i % 6));
+            postIds.add(new JdbcPostRepositoryImpl(pool).save(post).getId());
+        }
+        joined.deleteById(postIds.get(1));
+        counting.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testStrategiesReturnTheSamePosts() {
+        assertSamePosts(joined.getAll(), separate.getAll());
+        assertSamePosts(List.of(joined.getById(postIds.get(4))), List.of(separate.getById(postIds.get(4))));
+        assertSamePosts(joined.getPage(postIds.get(0), 3).getItems(), separate.getPage(postIds.get(0), 3).getItems());
+        assertSamePosts(joined.getPage(null, 10, Status.ACTIVE).getItems(),
+                separate.getPage(null, 10, Status.ACTIVE).getItems());
+        assertSamePosts(joined.getByIds(postIds).getItems(), separate.getByIds(postIds).getItems());
+        assertNull(separate.getById(9_999L));
+    }
+
+    @Test
+    void testSeparateQueriesSendContentOncePerPost() {
+        joined.getAll();
+        long joinBytes = counting.getBytes();
+        counting.reset();
+
+        separate.getAll();
+
+        assertEquals(2, counting.getQueries());
+        assertTrue(counting.getBytes() < joinBytes / 2,
+                "separate " + counting.getBytes() + " bytes, join " + joinBytes + " bytes");
+    }
+
+    private void assertSamePosts(List<Post> expected, List<Post> actual) {
+        assertEquals(expected.stream().map(Post::getId).toList(), actual.stream().map(Post::getId).toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getContent(), actual.get(i).getContent());
+            assertEquals(expected.get(i).getStatus(), actual.get(i).getStatus());
+            assertEquals(labelIds(expected.get(i)), labelIds(actual.get(i)));
+        }
+    }
+
+    private List<Long> labelIds(Post post) {
+        return post.getLabels().stream().map(Label::getId).sorted().toList();
+    }
+}
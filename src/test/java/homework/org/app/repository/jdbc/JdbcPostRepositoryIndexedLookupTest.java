@@ -0,0 +1,120 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Page;
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.model.Writer;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static homework.org.app.util.ConnectionPoolManager.setParameters;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcPostRepositoryIndexedLookupTest {
+
+    private ConnectionPool pool;
+    private JdbcPostRepositoryImpl repository;
+    private List<Label> labels;
+    private Writer ivan;
+    private Writer anna;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(2);
+        repository = new JdbcPostRepositoryImpl(pool);
+
+        JdbcLabelRepositoryImpl labelRepository = new JdbcLabelRepositoryImpl(pool);
+        labels = List.of(
+                labelRepository.save(new Label(null, "java")),
+                labelRepository.save(new Label(null, "sql")));
+        JdbcWriterRepositoryImpl writerRepository = new JdbcWriterRepositoryImpl(pool);
+        ivan = writerRepository.save(new Writer(null, "Ivan", "Petrov", null));
+        anna = writerRepository.save(new Writer(null, "Anna", "Sidorova", null));
+
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Post post = new Post();
+            post.setContent("post-" + i);
+            post.setWriter(i % 2 == 0 ? ivan : anna);
+            post.setLabels(i % 10 == 0 ? labels : List.of(labels.get(1)));
+            post.setStatus(i % 4 == 0 ? Status.UNDER_REVIEW : Status.ACTIVE);
+            posts.add(post);
+        }
+        repository.saveAll(posts);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testFindByLabelWalksPagesOfTaggedPosts() {
+        List<String> contents = new ArrayList<>();
+        Long afterId = null;
+        do {
+            Page<Post> page = repository.findByLabel(labels.get(0).getId(), afterId, 7);
+            page.getItems().forEach(post -> {
+                contents.add(post.getContent());
+                assertEquals(2, post.getLabels().size());
+            });
+            afterId = page.getNextAfterId();
+        } while (afterId != null);
+
+        assertEquals(20, contents.size());
+        assertEquals("post-0", contents.get(0));
+        assertEquals("post-190", contents.get(19));
+    }
+
+    @Test
+    void testFindByWriterFiltersByStatus() {
+        Page<Post> active = repository.findByWriter(ivan.getId(), Status.ACTIVE, null, 100);
+        Page<Post> all = repository.findByWriter(anna.getId(), null, null, 60);
+
+        assertEquals(50, active.getItems().size());
+        assertFalse(active.hasNext());
+        active.getItems().forEach(post -> {
+            assertEquals(Status.ACTIVE, post.getStatus());
+            assertEquals(ivan.getId(), post.getWriter().getId());
+        });
+        assertEquals(60, all.getItems().size());
+        assertTrue(all.hasNext());
+    }
+
+    @Test
+    void testLookupsAreServedByTheSecondaryIndexes() throws SQLException {
+        String byLabel = explain(JdbcPostRepositoryImpl.SELECT_POSTS_BY_LABEL_PAGE_SQL,
+                labels.get(0).getId(), 0L, 11);
+        String byWriter = explain(JdbcPostRepositoryImpl.SELECT_POSTS_BY_WRITER_AND_STATUS_PAGE_SQL,
+                ivan.getId(), Status.ACTIVE.name(), 0L, 11);
+        String byWriterAnyStatus = explain(JdbcPostRepositoryImpl.SELECT_POSTS_BY_WRITER_PAGE_SQL,
+                ivan.getId(), 0L, 11);
+
+        assertTrue(byLabel.contains("IDX_POST_LABEL_LABEL_POST"), byLabel);
+        assertTrue(byWriter.contains("IDX_POST_WRITER_STATUS"), byWriter);
+        assertTrue(byWriterAnyStatus.contains("IDX_POST_WRITER_ID"), byWriterAnyStatus);
+    }
+
+    private String explain(String sql, Object... params) throws SQLException {
+        try (Connection connection = pool.getConnection();
+             var prepStatement = connection.prepareStatement("EXPLAIN " + sql)) {
+            setParameters(prepStatement, params);
+            try (var resultSet = prepStatement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString().toUpperCase();
+            }
+        }
+    }
+}
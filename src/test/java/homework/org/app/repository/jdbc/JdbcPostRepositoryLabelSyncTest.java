@@ -0,0 +1,79 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Writer;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.CountingConnectionProvider;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcPostRepositoryLabelSyncTest {
+
+    private ConnectionPool pool;
+    private CountingConnectionProvider counting;
+    private JdbcPostRepositoryImpl repository;
+    private List<Label> labels;
+    private Post post;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(2);
+        counting = new CountingConnectionProvider(pool);
+        repository = new JdbcPostRepositoryImpl(counting);
+
+        JdbcLabelRepositoryImpl labelRepository = new JdbcLabelRepositoryImpl(pool);
+        labels = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            labels.add(labelRepository.save(new Label(null, "label-" + i)));
+        }
+        post = new Post();
+        post.setContent("post");
+        post.setWriter(new JdbcWriterRepositoryImpl(pool).save(new Writer(null, "Ivan", "Petrov", null)));
+        post.setLabels(labels.subList(0, 3));
+        repository.save(post);
+        counting.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testUnchangedLabelsAreNotRewritten() {
+        post.setLabels(List.of(labels.get(2), labels.get(0), labels.get(1)));
+        repository.updateWithLabels(post);
+
+        assertEquals(1, counting.getQueries());
+        assertEquals(1, counting.getUpdatedRows());
+    }
+
+    @Test
+    void testOnlyChangedLinksAreWritten() {
+        post.setLabels(List.of(labels.get(1), labels.get(3)));
+        repository.updateWithLabels(post);
+
+        assertEquals(1 + 2 + 1, counting.getUpdatedRows());
+        assertEquals(List.of(labels.get(1).getId(), labels.get(3).getId()),
+                repository.getById(post.getId()).getLabels().stream().map(Label::getId).sorted().toList());
+    }
+
+    @Test
+    void testNullLabelsLeaveLinksUntouched() {
+        post.setLabels(null);
+        post.setContent("edited");
+        repository.updateWithLabels(post);
+
+        Post reloaded = repository.getById(post.getId());
+        assertEquals("edited", reloaded.getContent());
+        assertEquals(3, reloaded.getLabels().size());
+    }
+}
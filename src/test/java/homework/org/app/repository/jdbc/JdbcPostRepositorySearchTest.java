@@ -0,0 +1,92 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Post;
+import homework.org.app.model.SearchPage;
+import homework.org.app.repository.FetchStrategy;
+import homework.org.app.repository.SearchMode;
+import homework.org.app.util.ConnectionProvider;
+import homework.org.app.util.Lane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcPostRepositorySearchTest {
+
+    private static final List<String> POST_COLUMNS = List.of("id", "content", "created", "updated", "status",
+            "writer_id");
+
+    @Mock
+    private ConnectionProvider connectionProvider;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement searchStatement;
+    @Mock
+    private PreparedStatement labelStatement;
+    @Mock
+    private ResultSet searchResult;
+    @Mock
+    private ResultSet labelResult;
+
+    private JdbcPostRepositoryImpl repository;
+
+    @BeforeEach
+    void setup() {
+        repository = new JdbcPostRepositoryImpl(connectionProvider, FetchStrategy.JOIN);
+    }
+
+    @Test
+    void testRanksByRelevanceAndPagesByOffset() throws Exception {
+        stubSearchResults();
+
+        SearchPage<Post> page = repository.search(" +java -sql ", SearchMode.BOOLEAN, 4, 2);
+
+        assertEquals(List.of(9L, 3L), page.getItems().stream().map(Post::getId).toList());
+        assertEquals(6, page.getNextOffset());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection, atLeastOnce()).prepareStatement(sql.capture());
+        assertTrue(sql.getAllValues().get(0).contains("AGAINST (? IN BOOLEAN MODE)"));
+        assertTrue(sql.getAllValues().get(0).contains("ORDER BY relevance DESC"));
+        verify(searchStatement).setObject(1, "+java -sql");
+        verify(searchStatement).setObject(2, "+java -sql");
+        verify(searchStatement).setObject(3, 3);
+        verify(searchStatement).setObject(4, 4);
+    }
+
+    @Test
+    void testRejectsBlankQuery() {
+        assertThrows(IllegalArgumentException.class, () -> repository.search("  ", SearchMode.NATURAL_LANGUAGE, 0, 10));
+    }
+
+    private void stubSearchResults() throws Exception {
+        when(connectionProvider.getConnection(Lane.OLTP_READ)).thenReturn(connection);
+        when(connection.prepareStatement(contains("MATCH(p.content)"))).thenReturn(searchStatement);
+        when(connection.prepareStatement(contains("FROM post_label pl"))).thenReturn(labelStatement);
+        when(searchStatement.executeQuery()).thenReturn(searchResult);
+        when(labelStatement.executeQuery()).thenReturn(labelResult);
+
+        when(searchResult.findColumn(anyString())).thenAnswer(call -> POST_COLUMNS.indexOf(call.<String>getArgument(0)) + 1);
+        when(searchResult.next()).thenReturn(true, true, true, false);
+        lenient().when(searchResult.getLong(1)).thenReturn(9L, 3L, 7L);
+        lenient().when(searchResult.getString(2)).thenReturn("java jdbc", "java", "jdbc");
+        lenient().when(searchResult.getTimestamp(3)).thenReturn(Timestamp.valueOf("2024-01-01 00:00:00"));
+        lenient().when(searchResult.getString(5)).thenReturn("ACTIVE");
+        when(labelResult.findColumn(anyString())).thenReturn(1, 2, 3);
+    }
+}
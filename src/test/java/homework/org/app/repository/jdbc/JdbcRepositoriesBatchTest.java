@@ -0,0 +1,151 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.BatchResult;
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Writer;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.PropertiesUtil;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRepositoriesBatchTest {
+
+    @TempDir
+    Path directory;
+
+    private ConnectionPool pool;
+    private JdbcLabelRepositoryImpl labelRepository;
+    private JdbcWriterRepositoryImpl writerRepository;
+    private JdbcPostRepositoryImpl postRepository;
+    private final List<Long> postIds = new ArrayList<>();
+    private final List<Long> labelIds = new ArrayList<>();
+    private Writer writer;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Path overrides = directory.resolve("batch.properties");
+        Files.writeString(overrides, "db.batch.chunkSize=3\ndb.batch.insertSize=4\n");
+        PropertiesUtil.reload(overrides);
+
+        pool = TestDatabase.createPool(2);
+        labelRepository = new JdbcLabelRepositoryImpl(pool);
+        writerRepository = new JdbcWriterRepositoryImpl(pool);
+        postRepository = new JdbcPostRepositoryImpl(pool);
+
+        Label label = labelRepository.save(new Label(null, "label"));
+        labelIds.add(label.getId());
+        labelIds.add(labelRepository.save(new Label(null, "other")).getId());
+        writer = writerRepository.save(new Writer(null, "Ivan", "Petrov", null));
+        for (int i = 0; i < 10; i++) {
+            Post post = new Post();
+            post.setContent("post-" + i);
+            post.setWriter(writer);
+            post.setLabels(List.of(label));
+            postIds.add(postRepository.save(post).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+        PropertiesUtil.reload(null);
+    }
+
+    @Test
+    void testPostsComeBackInRequestedOrderAcrossChunks() {
+        List<Long> requested = new ArrayList<>(postIds);
+        Collections.reverse(requested);
+
+        BatchResult<Post> result = postRepository.getByIds(requested);
+
+        assertEquals(requested, result.getItems().stream().map(Post::getId).toList());
+        result.getItems().forEach(post -> assertEquals(1, post.getLabels().size()));
+        assertTrue(result.isComplete());
+    }
+
+    @Test
+    void testMissingIdsAreReported() {
+        BatchResult<Post> result = postRepository.getByIds(List.of(postIds.get(2), 9_999L, postIds.get(0), 8_888L));
+
+        assertEquals(List.of(postIds.get(2), postIds.get(0)), result.getItems().stream().map(Post::getId).toList());
+        assertEquals(List.of(9_999L, 8_888L), result.getMissingIds());
+    }
+
+    @Test
+    void testWritersAndLabelsByIds() {
+        BatchResult<Writer> writers = writerRepository.getByIds(List.of(writer.getId(), 7_777L));
+        assertEquals(10, writers.getItems().get(0).getPosts().size());
+        assertEquals(List.of(7_777L), writers.getMissingIds());
+
+        BatchResult<Label> labels = labelRepository.getByIds(List.of(labelIds.get(1), labelIds.get(0), labelIds.get(1)));
+        assertEquals(List.of("other", "label", "other"), labels.getItems().stream().map(Label::getName).toList());
+    }
+
+    @Test
+    void testEmptyRequestRunsNoQuery() {
+        assertTrue(postRepository.getByIds(List.of()).getItems().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> labelRepository.getByIds(Arrays.asList(1L, null)));
+    }
+
+    @Test
+    void testPlaceholderCountIsRoundedToLimitStatementShapes() {
+        assertEquals(1, BatchQueries.placeholderCount(1, 500));
+        assertEquals(4, BatchQueries.placeholderCount(3, 500));
+        assertEquals(8, BatchQueries.placeholderCount(5, 500));
+        assertEquals(500, BatchQueries.placeholderCount(400, 500));
+    }
+
+    @Test
+    void testSaveAllMapsGeneratedKeysInOrder() {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Post post = new Post();
+            post.setContent("bulk-" + i);
+            post.setWriter(writer);
+            post.setLabels(i % 2 == 0
+                    ? List.of(new Label(labelIds.get(0), null), new Label(labelIds.get(1), null))
+                    : List.of());
+            posts.add(post);
+        }
+
+        postRepository.saveAll(posts);
+
+        List<Long> ids = posts.stream().map(Post::getId).toList();
+        assertEquals(ids.stream().sorted().toList(), ids);
+        BatchResult<Post> loaded = postRepository.getByIds(ids);
+        for (int i = 0; i < 10; i++) {
+            assertEquals("bulk-" + i, loaded.getItems().get(i).getContent());
+            assertEquals(i % 2 == 0 ? 2 : 0, loaded.getItems().get(i).getLabels().size());
+        }
+    }
+
+    @Test
+    void testSaveAllRollsBackEverythingOnFailure() {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Post post = new Post();
+            post.setContent("bulk-" + i);
+            post.setWriter(writer);
+            post.setLabels(List.of(new Label(i == 5 ? 9_999L : labelIds.get(0), null)));
+            posts.add(post);
+        }
+
+        assertThrows(RuntimeException.class, () -> postRepository.saveAll(posts));
+
+        assertEquals(10, postRepository.getAll().size());
+        assertEquals(0, pool.getActiveCount());
+    }
+}
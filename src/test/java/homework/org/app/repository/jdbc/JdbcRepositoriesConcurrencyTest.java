@@ -0,0 +1,91 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.model.Writer;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRepositoriesConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 50;
+    private static final int POOL_SIZE = 4;
+
+    private ConnectionPool pool;
+    private JdbcLabelRepositoryImpl labelRepository;
+    private JdbcWriterRepositoryImpl writerRepository;
+    private JdbcPostRepositoryImpl postRepository;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(POOL_SIZE);
+        labelRepository = new JdbcLabelRepositoryImpl(pool);
+        writerRepository = new JdbcWriterRepositoryImpl(pool);
+        postRepository = new JdbcPostRepositoryImpl(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testRepositoriesUnderParallelLoad() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    Label label = labelRepository.save(new Label(null, "label-" + thread + "-" + i));
+                    Writer writer = writerRepository.save(new Writer(null, "First" + thread, "Last" + i, null));
+
+                    Post post = new Post();
+                    post.setContent("content-" + thread + "-" + i);
+                    post.setWriter(writer);
+                    post.setLabels(List.of(label));
+                    postRepository.save(post);
+
+                    Post loaded = postRepository.getById(post.getId());
+                    assertEquals(post.getContent(), loaded.getContent());
+                    assertEquals(List.of(label.getId()), loaded.getLabels().stream().map(Label::getId).toList());
+                    assertEquals(writer.getFirstname(), writerRepository.getById(writer.getId()).getFirstname());
+                    assertEquals(label.getName(), labelRepository.getById(label.getId()).getName());
+
+                    post.setStatus(Status.UNDER_REVIEW);
+                    postRepository.updateWithLabels(post);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int total = THREADS * ITERATIONS;
+        assertEquals(total, labelRepository.getAll().size());
+        assertEquals(total, postRepository.getAll().size());
+        assertTrue(postRepository.getAll().stream().allMatch(p -> p.getStatus() == Status.UNDER_REVIEW));
+        assertTrue(pool.getTotalCount() <= POOL_SIZE);
+        assertEquals(pool.getTotalCount(), pool.getIdleCount());
+    }
+}
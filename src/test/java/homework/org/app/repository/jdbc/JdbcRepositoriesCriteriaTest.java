@@ -0,0 +1,152 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.model.Writer;
+import homework.org.app.repository.PostQuery;
+import homework.org.app.repository.SortDirection;
+import homework.org.app.repository.WriterQuery;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRepositoriesCriteriaTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private ConnectionPool pool;
+    private JdbcPostRepositoryImpl postRepository;
+    private JdbcWriterRepositoryImpl writerRepository;
+    private List<Label> labels;
+    private Writer ivan;
+    private Writer anna;
+
+    @BeforeEach
+    void setup() throws Exception {
+        pool = TestDatabase.createPool(2);
+        postRepository = new JdbcPostRepositoryImpl(pool);
+        writerRepository = new JdbcWriterRepositoryImpl(pool);
+
+        JdbcLabelRepositoryImpl labelRepository = new JdbcLabelRepositoryImpl(pool);
+        labels = List.of(
+                labelRepository.save(new Label(null, "java")),
+                labelRepository.save(new Label(null, "sql")));
+        ivan = writerRepository.save(new Writer(null, "Ivan", "Petrov", null));
+        anna = writerRepository.save(new Writer(null, "Anna", "Sidorova", null));
+        writerRepository.save(new Writer(null, "Oleg", "Petrenko", null));
+
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Post post = new Post();
+            post.setContent("post-" + i);
+            post.setWriter(i % 2 == 0 ? ivan : anna);
+            post.setLabels(List.of(labels.get(i % 3 == 0 ? 0 : 1)));
+            posts.add(postRepository.save(post));
+        }
+        postRepository.deleteById(posts.get(6).getId());
+        try (Connection connection = pool.getConnection();
+             var statement = connection.prepareStatement("UPDATE post SET created = ? WHERE id = ?")) {
+            for (int i = 0; i < posts.size(); i++) {
+                statement.setTimestamp(1, Timestamp.valueOf(START.plusDays(i)));
+                statement.setLong(2, posts.get(i).getId());
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testPostFiltersRunInTheDatabase() {
+        List<Post> posts = postRepository.find(PostQuery.posts()
+                                                        .status(Status.ACTIVE)
+                                                        .writerId(ivan.getId())
+                                                        .labelId(labels.get(0).getId()));
+
+        assertEquals(List.of("post-0"), contents(posts));
+        assertEquals(List.of("java"), posts.get(0).getLabels().stream().map(Label::getName).toList());
+    }
+
+    @Test
+    void testCreatedRangeSortAndLimit() {
+        List<Post> posts = postRepository.find(PostQuery.posts()
+                                                        .createdFrom(START.plusDays(2))
+                                                        .createdBefore(START.plusDays(8))
+                                                        .orderBy(PostQuery.Sort.CREATED, SortDirection.DESC)
+                                                        .limit(3));
+
+        assertEquals(List.of("post-7", "post-6", "post-5"), contents(posts));
+        assertEquals(Status.DELETED, posts.get(1).getStatus());
+    }
+
+    @Test
+    void testProjectionLeavesUnselectedFieldsEmpty() {
+        List<Post> posts = postRepository.find(PostQuery.posts()
+                                                        .status(Status.DELETED)
+                                                        .select(PostQuery.Field.CONTENT));
+
+        assertEquals(List.of("post-6"), contents(posts));
+        Post post = posts.get(0);
+        assertNotNull(post.getId());
+        assertNull(post.getStatus());
+        assertNull(post.getCreated());
+        assertNull(post.getWriter());
+        assertTrue(post.getLabels().isEmpty());
+    }
+
+    @Test
+    void testSameShapeReusesCompiledSql() {
+        postRepository.find(PostQuery.posts().writerId(ivan.getId()).limit(2));
+        int compiled = JdbcPostRepositoryImpl.compiledQueryCount();
+
+        List<Post> posts = postRepository.find(PostQuery.posts().writerId(anna.getId()).limit(5));
+
+        assertEquals(compiled, JdbcPostRepositoryImpl.compiledQueryCount());
+        assertEquals(5, posts.size());
+        posts.forEach(post -> assertEquals(anna.getId(), post.getWriter().getId()));
+    }
+
+    @Test
+    void testWritersFilteredByTheirPosts() {
+        List<Writer> writers = writerRepository.find(WriterQuery.writers()
+                                                                .postStatus(Status.DELETED));
+        assertEquals(List.of("Ivan"), writers.stream().map(Writer::getFirstname).toList());
+
+        List<Writer> withLabel = writerRepository.find(WriterQuery.writers()
+                                                                  .labelId(labels.get(0).getId())
+                                                                  .postCreatedFrom(START.plusDays(1))
+                                                                  .orderBy(WriterQuery.Sort.FIRSTNAME, SortDirection.ASC));
+        assertEquals(List.of("Anna", "Ivan"), withLabel.stream().map(Writer::getFirstname).toList());
+    }
+
+    @Test
+    void testWriterPrefixSortAndProjection() {
+        List<Writer> writers = writerRepository.find(WriterQuery.writers()
+                                                                .lastnamePrefix("Petr")
+                                                                .orderBy(WriterQuery.Sort.LASTNAME, SortDirection.ASC)
+                                                                .select(WriterQuery.Field.LASTNAME)
+                                                                .limit(1));
+
+        assertEquals(1, writers.size());
+        assertEquals("Petrenko", writers.get(0).getLastname());
+        assertNull(writers.get(0).getFirstname());
+    }
+
+    private List<String> contents(List<Post> posts) {
+        return posts.stream().map(Post::getContent).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Page;
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.model.Writer;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRepositoriesPaginationTest {
+
+    private ConnectionPool pool;
+    private JdbcLabelRepositoryImpl labelRepository;
+    private JdbcWriterRepositoryImpl writerRepository;
+    private JdbcPostRepositoryImpl postRepository;
+    private List<Label> labels;
+    private Writer writer;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(2);
+        labelRepository = new JdbcLabelRepositoryImpl(pool);
+        writerRepository = new JdbcWriterRepositoryImpl(pool);
+        postRepository = new JdbcPostRepositoryImpl(pool);
+
+        labels = List.of(
+                labelRepository.save(new Label(null, "java")),
+                labelRepository.save(new Label(null, "jdbc")),
+                labelRepository.save(new Label(null, "j_unit")));
+        writer = writerRepository.save(new Writer(null, "Ivan", "Petrov", null));
+        writerRepository.save(new Writer(null, "Anna", "Petrova", null));
+        writerRepository.save(new Writer(null, "Oleg", "Sidorov", null));
+        for (int i = 0; i < 5; i++) {
+            Post post = new Post();
+            post.setContent("post-" + i);
+            post.setWriter(writer);
+            post.setLabels(labels);
+            postRepository.save(post);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testPostPageLimitAppliesToPostsNotLabelRows() {
+        Page<Post> first = postRepository.getPage(null, 2);
+
+        assertEquals(List.of("post-0", "post-1"), first.getItems().stream().map(Post::getContent).toList());
+        first.getItems().forEach(post -> assertEquals(3, post.getLabels().size()));
+        assertTrue(first.hasNext());
+        assertEquals(first.getItems().get(1).getId(), first.getNextAfterId());
+    }
+
+    @Test
+    void testWalkingPagesVisitsEveryPostOnce() {
+        List<String> contents = new ArrayList<>();
+        Long afterId = null;
+        do {
+            Page<Post> page = postRepository.getPage(afterId, 2);
+            page.getItems().forEach(post -> contents.add(post.getContent()));
+            afterId = page.getNextAfterId();
+        } while (afterId != null);
+
+        assertEquals(List.of("post-0", "post-1", "post-2", "post-3", "post-4"), contents);
+    }
+
+    @Test
+    void testPostPageFilteredByStatus() {
+        Page<Post> all = postRepository.getPage(null, 10);
+        postRepository.deleteById(all.getItems().get(0).getId());
+
+        Page<Post> active = postRepository.getPage(null, 10, Status.ACTIVE);
+
+        assertEquals(4, active.getItems().size());
+        assertFalse(active.hasNext());
+    }
+
+    @Test
+    void testWriterPageFilteredByLastnamePrefix() {
+        Page<Writer> page = writerRepository.getPage(null, 1, "Petrov");
+
+        assertEquals(List.of("Ivan"), page.getItems().stream().map(Writer::getFirstname).toList());
+        assertEquals(5, page.getItems().get(0).getPosts().size());
+        assertTrue(page.hasNext());
+
+        Page<Writer> next = writerRepository.getPage(page.getNextAfterId(), 1, "Petrov");
+        assertEquals(List.of("Anna"), next.getItems().stream().map(Writer::getFirstname).toList());
+        assertFalse(next.hasNext());
+    }
+
+    @Test
+    void testLabelPrefixIsMatchedLiterally() {
+        assertEquals(List.of("j_unit"), labelRepository.getPage(null, 10, "j_").getItems().stream()
+                                                       .map(Label::getName)
+                                                       .toList());
+        assertEquals(3, labelRepository.getPage(null, 10).getItems().size());
+    }
+}
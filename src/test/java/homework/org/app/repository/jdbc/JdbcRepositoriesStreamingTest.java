@@ -0,0 +1,111 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Writer;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.PoolConfig;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRepositoriesStreamingTest {
+
+    private static final int POSTS = 50;
+
+    private ConnectionPool pool;
+    private JdbcWriterRepositoryImpl writerRepository;
+    private JdbcPostRepositoryImpl postRepository;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(2);
+        JdbcLabelRepositoryImpl labelRepository = new JdbcLabelRepositoryImpl(pool);
+        writerRepository = new JdbcWriterRepositoryImpl(pool);
+        postRepository = new JdbcPostRepositoryImpl(pool);
+
+        List<Label> labels = List.of(
+                labelRepository.save(new Label(null, "first")),
+                labelRepository.save(new Label(null, "second")));
+        Writer first = writerRepository.save(new Writer(null, "Ivan", "Petrov", null));
+        Writer second = writerRepository.save(new Writer(null, "Anna", "Sidorova", null));
+        for (int i = 0; i < POSTS; i++) {
+            Post post = new Post();
+            post.setContent("post-" + i);
+            post.setWriter(i % 2 == 0 ? first : second);
+            post.setLabels(i % 5 == 0 ? List.of() : labels);
+            postRepository.save(post);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testPostStreamAssemblesLabelsPerPost() {
+        try (Stream<Post> posts = postRepository.streamAll(7)) {
+            List<Post> all = posts.toList();
+
+            assertEquals(POSTS, all.size());
+            for (int i = 0; i < POSTS; i++) {
+                assertEquals("post-" + i, all.get(i).getContent());
+                assertEquals(i % 5 == 0 ? 0 : 2, all.get(i).getLabels().size());
+            }
+        }
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void testClosingPartiallyConsumedStreamReleasesConnection() {
+        try (Stream<Post> posts = postRepository.streamAll(5)) {
+            assertEquals(3, posts.limit(3).count());
+            assertEquals(1, pool.getActiveCount());
+        }
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void testStreamOutlivingLeakThresholdIsNotReclaimed() throws Exception {
+        PoolConfig config = TestDatabase.config(1);
+        config.setUrl(pool.getConfig().getUrl());
+        config.setLeakThresholdMs(50);
+        try (ConnectionPool shortLeakPool = new ConnectionPool(config)) {
+            JdbcPostRepositoryImpl repository = new JdbcPostRepositoryImpl(shortLeakPool);
+            try (Stream<Post> posts = repository.streamAll(5)) {
+                Iterator<Post> iterator = posts.iterator();
+                int read = 0;
+                while (iterator.hasNext()) {
+                    iterator.next();
+                    if (++read == 3) {
+                        Thread.sleep(300);
+                    }
+                }
+
+                assertEquals(POSTS, read);
+                assertEquals(1, shortLeakPool.getActiveCount());
+            }
+            assertEquals(0, shortLeakPool.getActiveCount());
+            assertEquals(1, shortLeakPool.getTotalCount());
+        }
+    }
+
+    @Test
+    void testWriterStreamGroupsPostsPerWriter() {
+        try (Stream<Writer> writers = writerRepository.streamAll()) {
+            List<Writer> all = writers.toList();
+
+            assertEquals(List.of("Ivan", "Anna"), all.stream().map(Writer::getFirstname).toList());
+            all.forEach(writer -> assertEquals(POSTS / 2, writer.getPosts().size()));
+        }
+        assertEquals(0, pool.getActiveCount());
+    }
+}
@@ -0,0 +1,94 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Writer;
+import homework.org.app.repository.FetchPlan;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.CountingConnectionProvider;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcWriterRepositoryFetchPlanTest {
+
+    private ConnectionPool pool;
+    private CountingConnectionProvider counting;
+    private JdbcWriterRepositoryImpl repository;
+    private Writer ivan;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(2);
+        counting = new CountingConnectionProvider(pool);
+        repository = new JdbcWriterRepositoryImpl(counting);
+
+        JdbcLabelRepositoryImpl labelRepository = new JdbcLabelRepositoryImpl(pool);
+        JdbcPostRepositoryImpl postRepository = new JdbcPostRepositoryImpl(pool);
+        List<Label> labels = List.of(
+                labelRepository.save(new Label(null, "java")),
+                labelRepository.save(new Label(null, "jdbc")));
+        ivan = repository.save(new Writer(null, "Ivan", "Petrov", null));
+        Writer anna = repository.save(new Writer(null, "Anna", "Sidorova", null));
+        repository.save(new Writer(null, "Oleg", "Ivanov", null));
+        for (int i = 0; i < 6; i++) {
+            Post post = new Post();
+            post.setContent("post-" + i);
+            post.setWriter(i < 4 ? ivan : anna);
+            post.setLabels(i % 3 == 0 ? List.of() : labels);
+            postRepository.save(post);
+        }
+        counting.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testWholeGraphLoadsInThreeQueriesWithoutDuplicates() {
+        List<Writer> writers = repository.getAll(FetchPlan.WITH_POSTS_AND_LABELS);
+
+        assertEquals(3, counting.getQueries());
+        assertEquals(List.of("Ivan", "Anna", "Oleg"), writers.stream().map(Writer::getFirstname).toList());
+        assertEquals(List.of(4, 2, 0), writers.stream().map(writer -> writer.getPosts().size()).toList());
+        assertEquals(List.of(0, 2, 2, 0), writers.get(0).getPosts().stream()
+                                                  .map(post -> post.getLabels().size())
+                                                  .toList());
+        Post first = writers.get(0).getPosts().get(1);
+        Post second = writers.get(1).getPosts().get(0);
+        assertSame(first.getLabels().get(0), second.getLabels().get(0));
+        assertSame(writers.get(0), first.getWriter());
+    }
+
+    @Test
+    void testPlansStopAtTheRequestedDepth() {
+        List<Writer> writersOnly = repository.getAll(FetchPlan.WRITERS_ONLY);
+        assertEquals(1, counting.getQueries());
+        assertEquals(3, writersOnly.size());
+        writersOnly.forEach(writer -> assertTrue(writer.getPosts().isEmpty()));
+
+        counting.reset();
+        List<Writer> withPosts = repository.getAll();
+        assertEquals(2, counting.getQueries());
+        assertEquals(3, withPosts.size());
+        assertEquals(4, withPosts.get(0).getPosts().size());
+        withPosts.get(0).getPosts().forEach(post -> assertTrue(post.getLabels().isEmpty()));
+    }
+
+    @Test
+    void testGetByIdLoadsOnlyThatWritersGraph() {
+        Writer writer = repository.getById(ivan.getId(), FetchPlan.WITH_POSTS_AND_LABELS);
+
+        assertEquals(3, counting.getQueries());
+        assertEquals(4, writer.getPosts().size());
+        assertEquals(4, writer.getPosts().stream().mapToInt(post -> post.getLabels().size()).sum());
+        assertNull(repository.getById(9_999L, FetchPlan.WITH_POSTS_AND_LABELS));
+    }
+}
@@ -0,0 +1,73 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.model.Writer;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcWriterRepositoryUpdateTest {
+
+    private ConnectionPool pool;
+    private JdbcWriterRepositoryImpl writerRepository;
+    private JdbcPostRepositoryImpl postRepository;
+    private Writer writer;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(2);
+        writerRepository = new JdbcWriterRepositoryImpl(pool);
+        postRepository = new JdbcPostRepositoryImpl(pool);
+
+        writer = writerRepository.save(new Writer(null, "Ivan", "Petrov", null));
+        Post post = new Post();
+        post.setContent("first");
+        post.setWriter(writer);
+        post.setLabels(List.of());
+        postRepository.save(post);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testRepeatedUpdatesKeepExistingPosts() {
+        for (String lastname : List.of("Sidorov", "Ivanov")) {
+            Writer loaded = writerRepository.getById(writer.getId());
+            loaded.setLastname(lastname);
+            writerRepository.update(loaded);
+        }
+
+        Writer reloaded = writerRepository.getById(writer.getId());
+        assertEquals("Ivanov", reloaded.getLastname());
+        assertEquals(List.of("first"), reloaded.getPosts().stream().map(Post::getContent).toList());
+    }
+
+    @Test
+    void testUpdateInsertsOnlyNewPosts() {
+        Writer loaded = writerRepository.getById(writer.getId());
+        Post added = new Post();
+        added.setContent("second");
+        added.setStatus(Status.ACTIVE);
+        List<Post> posts = new ArrayList<>(loaded.getPosts());
+        posts.add(added);
+        loaded.setPosts(posts);
+
+        writerRepository.update(loaded);
+        writerRepository.update(loaded);
+
+        assertNotNull(added.getId());
+        assertEquals(List.of("first", "second"),
+                writerRepository.getById(writer.getId()).getPosts().stream().map(Post::getContent).toList());
+    }
+}
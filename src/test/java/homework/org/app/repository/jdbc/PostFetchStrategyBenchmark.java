@@ -0,0 +1,70 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Writer;
+import homework.org.app.repository.FetchStrategy;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.CountingConnectionProvider;
+import homework.org.app.util.TestDatabase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PostFetchStrategyBenchmark {
+
+    private static final int POSTS = Integer.getInteger("bench.posts", 2_000);
+    private static final int LABELS_PER_POST = Integer.getInteger("bench.labels", 5);
+    private static final int CONTENT_LENGTH = Integer.getInteger("bench.contentLength", 2_000);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 20);
+
+    public static void main(String[] args) {
+        try (ConnectionPool pool = TestDatabase.createPool(2)) {
+            seed(pool);
+            CountingConnectionProvider counting = new CountingConnectionProvider(pool);
+            System.out.printf("%d posts, %d labels each, %d chars of content%n",
+                    POSTS, LABELS_PER_POST, CONTENT_LENGTH);
+            for (FetchStrategy strategy : FetchStrategy.values()) {
+                run(strategy, new JdbcPostRepositoryImpl(counting, strategy), counting);
+            }
+        }
+    }
+
+    private static void seed(ConnectionPool pool) {
+        JdbcLabelRepositoryImpl labelRepository = new JdbcLabelRepositoryImpl(pool);
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i < LABELS_PER_POST; i++) {
+            labels.add(labelRepository.save(new Label(null, "label-" + i)));
+        }
+        Writer writer = new JdbcWriterRepositoryImpl(pool).save(new Writer(null, "Ivan", "Petrov", null));
+        String content = "x".repeat(CONTENT_LENGTH);
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            Post post = new Post();
+            post.setContent(content);
+            post.setWriter(writer);
+            post.setLabels(labels);
+            posts.add(post);
+        }
+        new JdbcPostRepositoryImpl(pool).saveAll(posts);
+    }
+
+    private static void run(FetchStrategy strategy, JdbcPostRepositoryImpl repository,
+                            CountingConnectionProvider counting) {
+        for (int i = 0; i < ITERATIONS / 2; i++) {
+            repository.getAll();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            counting.reset();
+            long start = System.nanoTime();
+            repository.getAll();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-16s queries=%d rows=%d payload=%.1f KiB median=%.1f ms p90=%.1f ms%n",
+                strategy, counting.getQueries(), counting.getRows(), counting.getBytes() / 1024.0,
+                nanos[ITERATIONS / 2] / 1e6, nanos[ITERATIONS * 9 / 10] / 1e6);
+    }
+}
@@ -0,0 +1,130 @@
+package homework.org.app.repository.jdbc;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.model.Writer;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.TestDatabase;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class RowMapperBenchmark {
+
+    private static final int POSTS = Integer.getInteger("bench.posts", 20_000);
+    private static final int LABELS_PER_POST = Integer.getInteger("bench.labels", 3);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 20);
+
+    private static final String JOIN_SQL = """
+            SELECT p.id, p.content, p.created, p.updated, p.status, p.writer_id, l.id as label_id, l.name as label_name
+            FROM post p
+            LEFT JOIN post_label pl ON p.id = pl.post_id
+            LEFT JOIN label l ON pl.label_id = l.id
+            ORDER BY p.id
+            """;
+
+    @FunctionalInterface
+    private interface Mapping {
+        long run(ResultSet resultSet) throws SQLException;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        try (ConnectionPool pool = TestDatabase.createPool(1)) {
+            seed(pool);
+            System.out.printf("%d posts, %d labels each%n", POSTS, LABELS_PER_POST);
+            try (Connection connection = pool.getConnection()) {
+                run("by-name", connection, RowMapperBenchmark::mapByName);
+                run("by-index", connection, RowMapperBenchmark::mapByIndex);
+            }
+        }
+    }
+
+    private static void seed(ConnectionPool pool) {
+        JdbcLabelRepositoryImpl labelRepository = new JdbcLabelRepositoryImpl(pool);
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i < LABELS_PER_POST; i++) {
+            labels.add(labelRepository.save(new Label(null, "label-" + i)));
+        }
+        Writer writer = new JdbcWriterRepositoryImpl(pool).save(new Writer(null, "Ivan", "Petrov", null));
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            Post post = new Post();
+            post.setContent("post-" + i);
+            post.setWriter(writer);
+            post.setLabels(labels);
+            posts.add(post);
+        }
+        new JdbcPostRepositoryImpl(pool).saveAll(posts);
+    }
+
+    private static void run(String name, Connection connection, Mapping mapping) throws SQLException {
+        long[] nanos = new long[ITERATIONS];
+        for (int i = -ITERATIONS; i < ITERATIONS; i++) {
+            try (var prepStatement = connection.prepareStatement(JOIN_SQL);
+                 var resultSet = prepStatement.executeQuery()) {
+                long start = System.nanoTime();
+                if (mapping.run(resultSet) != (long) POSTS * LABELS_PER_POST) {
+                    throw new IllegalStateException("Unexpected label count");
+                }
+                if (i >= 0) {
+                    nanos[i] = System.nanoTime() - start;
+                }
+            }
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-9s median=%.1f ms p90=%.1f ms%n",
+                name, nanos[ITERATIONS / 2] / 1e6, nanos[ITERATIONS * 9 / 10] / 1e6);
+    }
+
+    private static long mapByIndex(ResultSet resultSet) throws SQLException {
+        PostRowMapper postMapper = PostRowMapper.of(resultSet);
+        LabelRowMapper labelMapper = LabelRowMapper.of(resultSet, "label_id", "label_name");
+        long labels = 0;
+        Post post = null;
+        while (resultSet.next()) {
+            if (post == null || post.getId() != postMapper.getId(resultSet)) {
+                post = postMapper.map(resultSet);
+            }
+            Label label = labelMapper.map(resultSet);
+            if (label != null) {
+                post.getLabels().add(label);
+                labels++;
+            }
+        }
+        return labels;
+    }
+
+    private static long mapByName(ResultSet resultSet) throws SQLException {
+        long labels = 0;
+        Post post = null;
+        while (resultSet.next()) {
+            if (post == null || post.getId() != resultSet.getLong("id")) {
+                post = new Post();
+                post.setId(resultSet.getLong("id"));
+                post.setContent(resultSet.getString("content"));
+                post.setCreated(resultSet.getTimestamp("created").toLocalDateTime());
+                Timestamp updated = resultSet.getTimestamp("updated");
+                if (updated != null) {
+                    post.setUpdated(updated.toLocalDateTime());
+                }
+                post.setStatus(Status.valueOf(resultSet.getString("status")));
+                Writer writer = new Writer();
+                writer.setId(resultSet.getLong("writer_id"));
+                post.setWriter(writer);
+                post.setLabels(new ArrayList<>());
+            }
+            long labelId = resultSet.getLong("label_id");
+            if (!resultSet.wasNull()) {
+                post.getLabels().add(new Label(labelId, resultSet.getString("label_name")));
+                labels++;
+            }
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,84 @@
+package homework.org.app.service.async;
+
+import homework.org.app.model.Label;
+import homework.org.app.model.Post;
+import homework.org.app.model.Writer;
+import homework.org.app.repository.jdbc.JdbcLabelRepositoryImpl;
+import homework.org.app.repository.jdbc.JdbcPostRepositoryImpl;
+import homework.org.app.repository.jdbc.JdbcWriterRepositoryImpl;
+import homework.org.app.service.impl.LabelServiceImpl;
+import homework.org.app.service.impl.PostServiceImpl;
+import homework.org.app.service.impl.WriterServiceImpl;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.JdbcTransactionManager;
+import homework.org.app.util.TestDatabase;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AsyncServiceFacadeTest {
+
+    private static final int REQUESTS = 2_000;
+
+    private ConnectionPool pool;
+    private AsyncServiceFacade facade;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(4);
+        JdbcTransactionManager transactionManager = new JdbcTransactionManager(pool);
+        facade = AsyncServiceFacade.ofVirtualThreads(
+                new PostServiceImpl(new JdbcPostRepositoryImpl(transactionManager), transactionManager),
+                new WriterServiceImpl(new JdbcWriterRepositoryImpl(transactionManager), transactionManager),
+                new LabelServiceImpl(new JdbcLabelRepositoryImpl(transactionManager), transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+        pool.close();
+    }
+
+    @Test
+    void testNoCarrierPinningUnderLoad() throws Exception {
+        AtomicInteger pinnedEvents = new AtomicInteger();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinnedEvents.incrementAndGet();
+                System.err.println(event);
+            });
+            recording.startAsync();
+
+            Writer writer = facade.saveWriter(new Writer(null, "Virtual", "Thread", null)).get(10, TimeUnit.SECONDS);
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                int request = i;
+                futures.add(facade.saveLabel(new Label(null, "label-" + request))
+                                  .thenCompose(label -> {
+                                      Post post = new Post();
+                                      post.setContent("content-" + request);
+                                      post.setWriter(writer);
+                                      post.setLabels(List.of(label));
+                                      return facade.savePost(post);
+                                  })
+                                  .thenCompose(post -> facade.getPostById(post.getId())));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+            recording.stop();
+        }
+
+        assertEquals(REQUESTS, facade.getAllPosts().get(10, TimeUnit.SECONDS).size());
+        assertEquals(0, pinnedEvents.get());
+    }
+}
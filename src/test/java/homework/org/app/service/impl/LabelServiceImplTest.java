@@ -3,6 +3,7 @@ package homework.org.app.service.impl;
 import homework.org.app.model.Label;
 import homework.org.app.repository.LabelRepository;
 import homework.org.app.service.LabelService;
+import homework.org.app.util.TransactionManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
@@ -29,7 +31,12 @@ class LabelServiceImplTest {
 
     @BeforeEach
     void setup() {
-        labelService = new LabelServiceImpl(mockRepository);
+        labelService = new LabelServiceImpl(mockRepository, new TransactionManager() {
+            @Override
+            public <T> T inTransaction(Supplier<T> work) {
+                return work.get();
+            }
+        });
     }
 
     @Test
@@ -1,10 +1,14 @@
 package homework.org.app.service.impl;
 
+import homework.org.app.exception.ServiceException;
 import homework.org.app.model.Label;
 import homework.org.app.model.Post;
+import homework.org.app.model.SearchPage;
 import homework.org.app.model.Status;
 import homework.org.app.repository.PostRepository;
+import homework.org.app.repository.SearchMode;
 import homework.org.app.service.PostService;
+import homework.org.app.util.TransactionManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,9 +16,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,7 +41,12 @@ class PostServiceImplTest {
 
     @BeforeEach
     void setup() {
-        postService = new PostServiceImpl(mockRepository);
+        postService = new PostServiceImpl(mockRepository, new TransactionManager() {
+            @Override
+            public <T> T inTransaction(Supplier<T> work) {
+                return work.get();
+            }
+        });
     }
 
     @Test
@@ -78,4 +90,19 @@ class PostServiceImplTest {
         postService.deleteById(1L);
         verify(mockRepository).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchDefaultsToNaturalLanguageMode() {
+        SearchPage<Post> page = new SearchPage<>(List.of(testPost1), null);
+        when(mockRepository.search("java", SearchMode.NATURAL_LANGUAGE, 0, 10)).thenReturn(page);
+
+        assertEquals(page, postService.search("java", null, 0, 10));
+        verify(mockRepository).search("java", SearchMode.NATURAL_LANGUAGE, 0, 10);
+    }
+
+    @Test
+    void testSearchRejectsBlankQuery() {
+        assertThrows(ServiceException.class, () -> postService.search(" ", SearchMode.BOOLEAN, 0, 10));
+        verifyNoInteractions(mockRepository);
+    }
+}
@@ -6,6 +6,7 @@ import homework.org.app.model.Status;
 import homework.org.app.model.Writer;
 import homework.org.app.repository.WriterRepository;
 import homework.org.app.service.WriterService;
+import homework.org.app.util.TransactionManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
@@ -34,7 +36,12 @@ class WriterServiceImplTest {
 
     @BeforeEach
     void setup() {
-        writerService = new WriterServiceImpl(mockRepository);
+        writerService = new WriterServiceImpl(mockRepository, new TransactionManager() {
+            @Override
+            public <T> T inTransaction(Supplier<T> work) {
+                return work.get();
+            }
+        });
     }
 
     @Test
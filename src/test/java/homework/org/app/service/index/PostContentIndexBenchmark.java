@@ -0,0 +1,93 @@
+package homework.org.app.service.index;
+
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.LongStream;
+
+public class PostContentIndexBenchmark {
+
+    private static final int POSTS = Integer.getInteger("bench.posts", 1_000_000);
+    private static final int WORDS_PER_POST = Integer.getInteger("bench.words", 12);
+    private static final int VOCABULARY = Integer.getInteger("bench.vocabulary", 50_000);
+    private static final int QUERIES = Integer.getInteger("bench.queries", 2_000);
+    private static final int LIMIT = Integer.getInteger("bench.limit", 20);
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary[i] = word(random);
+        }
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        PostContentIndex index = PostContentIndex.build(LongStream.rangeClosed(1, POSTS).mapToObj(id -> {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < WORDS_PER_POST; i++) {
+                content.append(vocabulary[skewed(random)]).append(' ');
+            }
+            return new Post(id, content.toString(), null, null, null, List.of(), Status.ACTIVE);
+        }));
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        long heap = usedHeap() - heapBefore;
+
+        System.out.printf("%d posts, %d words each, %d-word vocabulary%n", POSTS, WORDS_PER_POST, VOCABULARY);
+        System.out.printf("build=%d ms terms=%d postings=%d postingBytes=%.1f MiB heap=%.1f MiB%n",
+                buildMillis, index.getTermCount(), index.getPostingCount(),
+                index.getPostingBytes() / 1048576.0, heap / 1048576.0);
+
+        run("and", i -> index.and(common(vocabulary, random) + " " + common(vocabulary, random), LIMIT));
+        run("or", i -> index.or(common(vocabulary, random) + " " + vocabulary[random.nextInt(VOCABULARY)], LIMIT));
+        run("prefix", i -> index.prefix(vocabulary[random.nextInt(VOCABULARY)].substring(0, 3), LIMIT));
+        run("typeAhead", i -> {
+            String last = vocabulary[random.nextInt(VOCABULARY)];
+            return index.typeAhead(common(vocabulary, random) + " " + last.substring(0, 2), LIMIT);
+        });
+    }
+
+    private static void run(String name, IntFunction<long[]> query) {
+        for (int i = 0; i < QUERIES; i++) {
+            query.apply(i);
+        }
+        long[] nanos = new long[QUERIES];
+        long hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            hits += query.apply(i).length;
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-10s median=%.1f us p99=%.1f us avgHits=%.1f%n", name,
+                nanos[QUERIES / 2] / 1e3, nanos[QUERIES * 99 / 100] / 1e3, (double) hits / QUERIES);
+    }
+
+    private static String common(String[] vocabulary, Random random) {
+        return vocabulary[random.nextInt(200)];
+    }
+
+    private static int skewed(Random random) {
+        double r = random.nextDouble();
+        return (int) (r * r * r * VOCABULARY);
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[3 + random.nextInt(8)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
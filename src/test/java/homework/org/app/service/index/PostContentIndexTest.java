@@ -0,0 +1,228 @@
+package homework.org.app.service.index;
+
+import homework.org.app.model.Post;
+import homework.org.app.model.Status;
+import homework.org.app.model.Writer;
+import homework.org.app.repository.jdbc.JdbcPostRepositoryImpl;
+import homework.org.app.repository.jdbc.JdbcWriterRepositoryImpl;
+import homework.org.app.service.PostService;
+import homework.org.app.service.impl.PostServiceImpl;
+import homework.org.app.util.ConnectionPool;
+import homework.org.app.util.JdbcTransactionManager;
+import homework.org.app.util.TestDatabase;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostContentIndexTest {
+
+    @Test
+    void testTokenizerLowercasesAndSplitsOnNonLetters() {
+        assertEquals(Set.of("java", "2023", "года", "jdbc"), PostContentIndex.tokenize("Java, 2023 года: JDBC/java!"));
+    }
+
+    @Test
+    void testPostingListKeepsIdsSortedAndCompressed() {
+        PostingList list = new PostingList();
+        for (long id : new long[]{5, 300, 1_000_000, 42, 300, 7}) {
+            list.add(id);
+        }
+        assertArrayEquals(new long[]{5, 7, 42, 300, 1_000_000}, list.toArray());
+
+        assertTrue(list.remove(42));
+        assertFalse(list.remove(43));
+        list.trim();
+        assertArrayEquals(new long[]{5, 7, 300, 1_000_000}, list.toArray());
+        assertTrue(list.byteSize() <= 8);
+    }
+
+    @Test
+    void testAndOrPrefixAndTypeAhead() {
+        PostContentIndex index = PostContentIndex.build(Stream.of(
+                post(1, "Java streams and JDBC"),
+                post(2, "JDBC batching"),
+                post(3, "Java records"),
+                post(4, "Javascript promises"),
+                post(5, "Java streams deleted", Status.DELETED)));
+
+        assertArrayEquals(new long[]{1}, index.and("java jdbc", 10));
+        assertArrayEquals(new long[]{1, 2, 3}, index.or("java jdbc", 10));
+        assertArrayEquals(new long[]{1, 3, 4}, index.prefix("JAV", 10));
+        assertArrayEquals(new long[]{1, 3}, index.prefix("jav", 2));
+        assertArrayEquals(new long[]{1}, index.typeAhead("java str", 10));
+        assertArrayEquals(new long[0], index.typeAhead("java str ", 10));
+        assertArrayEquals(new long[0], index.and("java missing", 10));
+        assertArrayEquals(new long[]{1}, index.typeAhead("java streams java", 10));
+        assertArrayEquals(new long[0], index.typeAhead("java j java", 10));
+    }
+
+    @Test
+    void testPostingListMatchesSortedSetUnderRandomEdits() {
+        Random random = new Random(42);
+        PostingList list = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), list.remove(id));
+            } else {
+                expected.add(id);
+                list.add(id);
+            }
+            if (i % 500 == 0) {
+                list.trim();
+                assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), list.toArray());
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        for (long target = 1; target <= 3_000; target += 97) {
+            Long ceiling = expected.ceiling(target);
+            assertEquals(ceiling == null ? -1 : ceiling, list.cursor().advance(target));
+        }
+        for (Long id : new ArrayList<>(expected)) {
+            assertTrue(list.remove(id));
+        }
+        assertTrue(list.isEmpty());
+        list.add(7);
+        assertArrayEquals(new long[]{7}, list.toArray());
+    }
+
+    @Test
+    void testUpdateTouchesOnlyChangedTerms() {
+        PostContentIndex index = PostContentIndex.build(Stream.of(
+                post(1, "java streams only"),
+                post(2, "java records")));
+        PostingList shared = index.postingsOf("java");
+        PostingList sole = index.postingsOf("only");
+
+        index.onUpdated(post(1, "Java streams only"), post(1, "java lambdas only"));
+
+        assertSame(shared, index.postingsOf("java"));
+        assertSame(sole, index.postingsOf("only"));
+        assertArrayEquals(new long[]{1, 2}, shared.toArray());
+        assertNull(index.postingsOf("streams"));
+        assertArrayEquals(new long[]{1}, index.and("lambdas only", 10));
+
+        index.onUpdated(post(2, "java records"), post(2, "java records", Status.DELETED));
+        assertArrayEquals(new long[]{1}, index.and("java", 10));
+        assertNull(index.postingsOf("records"));
+    }
+
+    @Test
+    void testServiceHooksKeepIndexCurrent() {
+        try (ConnectionPool pool = TestDatabase.createPool(2)) {
+            JdbcTransactionManager transactionManager = new JdbcTransactionManager(pool);
+            JdbcPostRepositoryImpl repository = new JdbcPostRepositoryImpl(transactionManager);
+            PostService service = new PostServiceImpl(repository, transactionManager);
+            Writer writer = new JdbcWriterRepositoryImpl(pool).save(new Writer(null, "Ivan", "Petrov", null));
+
+            Post existing = service.save(newPost(writer, "indexed from the scan"));
+            PostContentIndex index = PostContentIndex.build(repository);
+            service.addChangeListener(index);
+            assertArrayEquals(new long[]{existing.getId()}, index.and("scan", 10));
+
+            Post added = service.save(newPost(writer, "fresh content"));
+            assertArrayEquals(new long[]{added.getId()}, index.and("fresh", 10));
+
+            added.setContent("edited content");
+            service.update(added);
+            assertArrayEquals(new long[0], index.and("fresh", 10));
+            assertArrayEquals(new long[]{added.getId()}, index.and("edited", 10));
+
+            service.deleteById(existing.getId());
+            assertArrayEquals(new long[0], index.prefix("sca", 10));
+            assertArrayEquals(new long[]{added.getId()}, index.or("content scan", 10));
+        }
+    }
+
+    @Test
+    void testRolledBackOuterTransactionLeavesIndexUnchanged() {
+        try (ConnectionPool pool = TestDatabase.createPool(2)) {
+            JdbcTransactionManager transactionManager = new JdbcTransactionManager(pool);
+            JdbcPostRepositoryImpl repository = new JdbcPostRepositoryImpl(transactionManager);
+            PostService service = new PostServiceImpl(repository, transactionManager);
+            Writer writer = new JdbcWriterRepositoryImpl(pool).save(new Writer(null, "Ivan", "Petrov", null));
+            Post existing = service.save(newPost(writer, "committed words"));
+            PostContentIndex index = PostContentIndex.build(repository);
+            service.addChangeListener(index);
+
+            assertThrows(IllegalStateException.class, () -> transactionManager.inTransaction(() -> {
+                service.save(newPost(writer, "phantom words"));
+                existing.setContent("rewritten");
+                service.update(existing);
+                assertArrayEquals(new long[0], index.and("phantom", 10));
+                throw new IllegalStateException("boom");
+            }));
+
+            assertEquals(2, index.getTermCount());
+            assertArrayEquals(new long[]{existing.getId()}, index.and("committed words", 10));
+            assertArrayEquals(new long[0], index.or("phantom rewritten", 10));
+
+            transactionManager.inTransaction(() -> service.save(newPost(writer, "phantom words")));
+            assertEquals(1, index.and("phantom", 10).length);
+        }
+    }
+
+    @Test
+    void testConcurrentUpdatesLeaveIndexMatchingDatabase() throws Exception {
+        try (ConnectionPool pool = TestDatabase.createPool(4)) {
+            JdbcTransactionManager transactionManager = new JdbcTransactionManager(pool);
+            JdbcPostRepositoryImpl repository = new JdbcPostRepositoryImpl(transactionManager);
+            PostService service = new PostServiceImpl(repository, transactionManager);
+            Writer writer = new JdbcWriterRepositoryImpl(pool).save(new Writer(null, "Ivan", "Petrov", null));
+            Post saved = service.save(newPost(writer, "start"));
+            PostContentIndex index = PostContentIndex.build(repository);
+            service.addChangeListener(index);
+
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+            try {
+                List<Future<?>> writers = new ArrayList<>();
+                for (int thread = 0; thread < 3; thread++) {
+                    int current = thread;
+                    writers.add(executor.submit(() -> {
+                        for (int i = 0; i < 20; i++) {
+                            Post edit = repository.getById(saved.getId());
+                            edit.setContent("shared t" + current + "w" + i);
+                            service.update(edit);
+                        }
+                    }));
+                }
+                for (Future<?> future : writers) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            Set<String> stored = PostContentIndex.tokenize(repository.getById(saved.getId()).getContent());
+            assertEquals(stored.size(), index.getTermCount());
+            assertArrayEquals(new long[]{saved.getId()}, index.and(String.join(" ", stored), 10));
+        }
+    }
+
+    private Post post(long id, String content) {
+        return post(id, content, Status.ACTIVE);
+    }
+
+    private Post post(long id, String content, Status status) {
+        return new Post(id, content, null, null, null, List.of(), status);
+    }
+
+    private Post newPost(Writer writer, String content) {
+        Post post = new Post();
+        post.setContent(content);
+        post.setWriter(writer);
+        return post;
+    }
+}
@@ -0,0 +1,98 @@
+package homework.org.app.util;
+
+import homework.org.app.exception.BulkheadFullException;
+import homework.org.app.model.Label;
+import homework.org.app.repository.jdbc.JdbcLabelRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadConnectionProviderTest {
+
+    private ConnectionPool pool;
+    private BulkheadConnectionProvider provider;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(4);
+        Map<Lane, LaneConfig> lanes = new EnumMap<>(Lane.class);
+        lanes.put(Lane.OLTP_READ, new LaneConfig(2, 4, 1_000));
+        lanes.put(Lane.WRITE, new LaneConfig(1, 4, 1_000));
+        lanes.put(Lane.SCAN, new LaneConfig(1, 1, 5_000));
+        provider = new BulkheadConnectionProvider(pool, lanes);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        provider.close();
+    }
+
+    @Test
+    void testSaturatedScanLaneDoesNotBlockReads() throws Exception {
+        JdbcLabelRepositoryImpl repository = new JdbcLabelRepositoryImpl(provider);
+        Label saved = repository.save(new Label(null, "label"));
+
+        try (Connection scan = provider.getConnection(Lane.SCAN)) {
+            assertEquals("label", repository.getById(saved.getId()).getName());
+            assertEquals(1, provider.getBulkhead(Lane.SCAN).getActiveCount());
+        }
+        assertEquals(0, provider.getBulkhead(Lane.SCAN).getActiveCount());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch queued = new CountDownLatch(1);
+        try (Connection scan = provider.getConnection(Lane.SCAN)) {
+            CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+                queued.countDown();
+                try (Connection connection = provider.getConnection(Lane.SCAN)) {
+                    assertFalse(connection.isClosed());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertTrue(queued.await(1, TimeUnit.SECONDS));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (provider.getBulkhead(Lane.SCAN).getQueuedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+
+            long start = System.nanoTime();
+            assertThrows(BulkheadFullException.class, () -> provider.getConnection(Lane.SCAN));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+            assertEquals(1, provider.getBulkhead(Lane.SCAN).getRejectedCount());
+
+            scan.close();
+            waiter.get(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testTimesOutWaitingForLane() throws Exception {
+        try (Connection write = provider.getConnection(Lane.WRITE)) {
+            assertThrows(BulkheadFullException.class, () -> provider.getConnection(Lane.WRITE));
+        }
+        try (Connection write = provider.getConnection(Lane.WRITE)) {
+            assertFalse(write.isClosed());
+        }
+    }
+
+    @Test
+    void testDoubleCloseReleasesOnce() throws Exception {
+        Connection read = provider.getConnection(Lane.OLTP_READ);
+        read.close();
+        read.close();
+
+        assertEquals(0, provider.getBulkhead(Lane.OLTP_READ).getActiveCount());
+        assertEquals(0, pool.getActiveCount());
+    }
+}
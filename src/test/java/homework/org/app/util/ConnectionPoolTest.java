@@ -0,0 +1,321 @@
+package homework.org.app.util;
+
+import homework.org.app.exception.ConnectionTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+
+    private PoolConfig testConfig(int size) {
+        PoolConfig config = new PoolConfig();
+        config.setPoolName("test");
+        config.setUrl("jdbc:h2:mem:pool_test;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaxPoolSize(size);
+        config.setBorrowTimeoutMs(100);
+        config.setLeakThresholdMs(0);
+        return config;
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testClosedConnectionReturnsToPool() throws Exception {
+        pool = new ConnectionPool(testConfig(1));
+        Connection first = pool.getConnection();
+        first.close();
+        Connection second = pool.getConnection();
+        assertTrue(first.isClosed());
+        assertFalse(second.isClosed());
+        assertEquals(1, pool.getTotalCount());
+        second.close();
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void testClosingStaleHandleDoesNotReleaseCurrentBorrow() throws Exception {
+        pool = new ConnectionPool(testConfig(1));
+        Connection stale = pool.getConnection();
+        stale.close();
+        try (Connection current = pool.getConnection()) {
+            stale.close();
+
+            assertFalse(current.isClosed());
+            assertTrue(stale.isClosed());
+            assertEquals(1, pool.getActiveCount());
+            assertThrows(ConnectionTimeoutException.class, () -> pool.getConnection());
+            assertThrows(SQLException.class, () -> stale.prepareStatement("SELECT 1"));
+        }
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void testBorrowTimesOutWhenPoolExhausted() throws Exception {
+        pool = new ConnectionPool(testConfig(1));
+        try (Connection ignored = pool.getConnection()) {
+            assertThrows(ConnectionTimeoutException.class, () -> pool.getConnection());
+        }
+    }
+
+    @Test
+    void testLeakedConnectionIsReclaimed() throws Exception {
+        PoolConfig config = testConfig(1);
+        config.setBorrowTimeoutMs(2_000);
+        config.setLeakThresholdMs(50);
+        pool = new ConnectionPool(config);
+
+        Connection leaked = pool.getConnection();
+        try (Connection reclaimed = pool.getConnection()) {
+            assertNotSame(leaked, reclaimed);
+            assertTrue(leaked.isClosed());
+        }
+        leaked.close();
+        assertEquals(1, pool.getTotalCount());
+    }
+
+    @Test
+    void testFirstBorrowDoesNotWaitForWarmUp() throws Exception {
+        Driver slowDriver = new SlowDriver();
+        DriverManager.registerDriver(slowDriver);
+        try {
+            PoolConfig config = testConfig(1);
+            config.setMinPoolSize(1);
+            config.setUrl("jdbc:slow:" + config.getUrl().substring("jdbc:".length()));
+            config.setBorrowTimeoutMs(300);
+            pool = new ConnectionPool(config);
+            Thread.sleep(50);
+
+            try (Connection connection = pool.getConnection()) {
+                assertTrue(connection.isValid(1));
+            }
+            Thread.sleep(SlowDriver.CONNECT_DELAY_MS * 2);
+            assertEquals(1, pool.getTotalCount());
+        } finally {
+            DriverManager.deregisterDriver(slowDriver);
+        }
+    }
+
+    @Test
+    void testBrokenIdleConnectionIsReplacedOnBorrow() throws Exception {
+        pool = new ConnectionPool(testConfig(1));
+        Connection first = pool.getConnection();
+        Connection physical = first.unwrap(Connection.class);
+        first.close();
+        physical.close();
+        Thread.sleep(600);
+
+        try (Connection second = pool.getConnection()) {
+            assertNotSame(first, second);
+            assertTrue(second.isValid(1));
+        }
+        assertEquals(1, pool.getTotalCount());
+    }
+
+    @Test
+    void testIdleConnectionsAboveMinimumAreEvicted() throws Exception {
+        PoolConfig config = testConfig(3);
+        config.setMinPoolSize(1);
+        config.setIdleTimeoutMs(1);
+        config.setValidationIntervalMs(50);
+        pool = new ConnectionPool(config);
+
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+        Connection third = pool.getConnection();
+        first.close();
+        second.close();
+        third.close();
+        Thread.sleep(300);
+
+        assertEquals(1, pool.getTotalCount());
+    }
+
+    @Test
+    void testExpiredConnectionIsRecycled() throws Exception {
+        PoolConfig config = testConfig(1);
+        config.setMaxLifetimeMs(50);
+        pool = new ConnectionPool(config);
+
+        Connection first = pool.getConnection();
+        Thread.sleep(100);
+        first.close();
+
+        try (Connection second = pool.getConnection()) {
+            assertNotSame(first, second);
+        }
+    }
+
+    @Test
+    void testClosedPreparedStatementIsReusedFromCache() throws Exception {
+        pool = new ConnectionPool(testConfig(1));
+        try (Connection connection = pool.getConnection()) {
+            PreparedStatement first = connection.prepareStatement("SELECT 1");
+            PreparedStatement physical = first.unwrap(PreparedStatement.class);
+            first.close();
+            assertTrue(first.isClosed());
+
+            try (PreparedStatement second = connection.prepareStatement("SELECT 1")) {
+                assertSame(physical, second.unwrap(PreparedStatement.class));
+                assertTrue(second.executeQuery().next());
+            }
+        }
+        assertEquals(1, pool.getStatementCacheHits());
+        assertEquals(1, pool.getStatementCacheMisses());
+    }
+
+    @Test
+    void testLeastRecentlyUsedStatementIsEvicted() throws Exception {
+        PoolConfig config = testConfig(1);
+        config.setStatementCacheSize(1);
+        pool = new ConnectionPool(config);
+        try (Connection connection = pool.getConnection()) {
+            PreparedStatement first = connection.prepareStatement("SELECT 1");
+            PreparedStatement physical = first.unwrap(PreparedStatement.class);
+            first.close();
+            connection.prepareStatement("SELECT 2").close();
+
+            assertTrue(physical.isClosed());
+            connection.prepareStatement("SELECT 1").close();
+        }
+        assertEquals(0, pool.getStatementCacheHits());
+        assertEquals(3, pool.getStatementCacheMisses());
+    }
+
+    @Test
+    void testStatisticsAreExposedThroughJmx() throws Exception {
+        pool = new ConnectionPool(testConfig(1));
+        try (Connection ignored = pool.getConnection()) {
+            assertThrows(ConnectionTimeoutException.class, () -> pool.getConnection());
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("homework.org.app:type=ConnectionPool,name=test");
+        assertEquals(1, server.getAttribute(name, "TotalConnections"));
+        assertEquals(0, server.getAttribute(name, "ActiveConnections"));
+        assertEquals(2L, server.getAttribute(name, "BorrowCount"));
+        assertEquals(1L, server.getAttribute(name, "TimeoutCount"));
+        assertTrue((Double) server.getAttribute(name, "BorrowWaitMaxMillis") >= 100);
+
+        pool.close();
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void testShrinkDrainsInFlightConnections() throws Exception {
+        pool = new ConnectionPool(testConfig(2));
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+
+        pool.resize(1, 1);
+
+        try (var statement = first.createStatement()) {
+            assertTrue(statement.execute("SELECT 1"));
+        }
+        assertThrows(ConnectionTimeoutException.class, () -> pool.getConnection());
+        first.close();
+        assertEquals(1, pool.getTotalCount());
+        second.close();
+        assertEquals(1, pool.getTotalCount());
+        try (Connection ignored = pool.getConnection()) {
+            assertThrows(ConnectionTimeoutException.class, () -> pool.getConnection());
+        }
+    }
+
+    @Test
+    void testGrowAdmitsMoreBorrowers() throws Exception {
+        pool = new ConnectionPool(testConfig(1));
+        try (Connection first = pool.getConnection()) {
+            pool.resize(1, 3);
+            try (Connection second = pool.getConnection();
+                 Connection third = pool.getConnection()) {
+                assertEquals(3, pool.getActiveCount());
+            }
+        }
+    }
+
+    @Test
+    void testSettingsAreAdjustableThroughJmx() throws Exception {
+        pool = new ConnectionPool(testConfig(1));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("homework.org.app:type=ConnectionPool,name=test");
+
+        server.invoke(name, "resize", new Object[]{1, 4}, new String[]{"int", "int"});
+        server.setAttribute(name, new Attribute("BorrowTimeoutMillis", 250L));
+        server.setAttribute(name, new Attribute("ValidationIntervalMillis", 5_000L));
+
+        assertEquals(4, pool.getConfig().getMaxPoolSize());
+        assertEquals(250L, server.getAttribute(name, "BorrowTimeoutMillis"));
+        assertEquals(5_000L, pool.getConfig().getValidationIntervalMs());
+    }
+
+    private static class SlowDriver implements Driver {
+
+        static final long CONNECT_DELAY_MS = 500;
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            try {
+                Thread.sleep(CONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while connecting", e);
+            }
+            return DriverManager.getConnection("jdbc:" + url.substring("jdbc:slow:".length()), info);
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:slow:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
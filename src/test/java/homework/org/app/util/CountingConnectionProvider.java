@@ -0,0 +1,141 @@
+package homework.org.app.util;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CountingConnectionProvider implements ConnectionProvider {
+
+    private final ConnectionProvider delegate;
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder updatedRows = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    public CountingConnectionProvider(ConnectionProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    public long getQueries() {
+        return queries.sum();
+    }
+
+    public long getUpdatedRows() {
+        return updatedRows.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public void reset() {
+        queries.reset();
+        updatedRows.reset();
+        rows.reset();
+        bytes.reset();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new CountingConnection(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        return new CountingConnection(delegate.getReadConnection());
+    }
+
+    @Override
+    public Connection getConnection(Lane lane) throws SQLException {
+        return new CountingConnection(delegate.getConnection(lane));
+    }
+
+    private class CountingConnection extends DelegatingConnection {
+
+        CountingConnection(Connection delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            return new CountingStatement(super.prepareStatement(sql));
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+            return new CountingStatement(super.prepareStatement(sql, autoGeneratedKeys));
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+                throws SQLException {
+            return new CountingStatement(super.prepareStatement(sql, resultSetType, resultSetConcurrency));
+        }
+    }
+
+    private class CountingStatement extends DelegatingPreparedStatement {
+
+        CountingStatement(PreparedStatement delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public ResultSet executeQuery() throws SQLException {
+            queries.increment();
+            return new CountingResultSet(super.executeQuery());
+        }
+
+        @Override
+        public int executeUpdate() throws SQLException {
+            int updated = super.executeUpdate();
+            updatedRows.add(updated);
+            return updated;
+        }
+
+        @Override
+        public int[] executeBatch() throws SQLException {
+            int[] updated = super.executeBatch();
+            for (int count : updated) {
+                updatedRows.add(Math.max(count, 0));
+            }
+            return updated;
+        }
+    }
+
+    private class CountingResultSet extends DelegatingResultSet {
+
+        CountingResultSet(ResultSet delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            boolean next = super.next();
+            if (next) {
+                rows.increment();
+                countRow();
+            }
+            return next;
+        }
+
+        private void countRow() throws SQLException {
+            ResultSetMetaData metaData = getMetaData();
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                Object value = getObject(column);
+                if (value instanceof String text) {
+                    bytes.add(text.getBytes(StandardCharsets.UTF_8).length);
+                } else if (value != null) {
+                    bytes.add(Long.BYTES);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package homework.org.app.util;
+
+import homework.org.app.exception.DeadlineExceededException;
+import homework.org.app.model.Post;
+import homework.org.app.repository.PostRepository;
+import homework.org.app.service.impl.PostServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeadlineTest {
+
+    private static final String SLOW_QUERY = "SELECT SUM(RAND()) FROM SYSTEM_RANGE(1, 10000000000)";
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testSlowQueryIsCancelledAtDeadline() {
+        long start = System.nanoTime();
+
+        assertThrows(DeadlineExceededException.class, () -> Deadline.afterMillis(200).call(() -> {
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(SLOW_QUERY);
+                 ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void testStatementTimeoutIsAppliedAndCleared() throws Exception {
+        Deadline.afterMillis(5_000).run(() -> {
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+                int timeout = statement.getQueryTimeout();
+                assertTrue(timeout >= 1 && timeout <= 5);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void testExpiredDeadlineFailsBeforeBorrowing() {
+        Deadline deadline = Deadline.afterMillis(0);
+
+        assertThrows(DeadlineExceededException.class, () -> deadline.call(pool::getConnection));
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void testServiceCallRunsUnderDeadline() {
+        PostRepository repository = mock(PostRepository.class);
+        when(repository.getAll()).thenAnswer(invocation -> {
+            assertNotNull(Deadline.current());
+            return List.of(new Post());
+        });
+        PostServiceImpl service = new PostServiceImpl(repository, new JdbcTransactionManager(pool));
+
+        assertEquals(1, service.getAll(Deadline.afterMillis(1_000)).size());
+        assertNull(Deadline.current());
+    }
+}
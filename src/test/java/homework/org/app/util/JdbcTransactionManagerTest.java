@@ -0,0 +1,98 @@
+package homework.org.app.util;
+
+import homework.org.app.model.Label;
+import homework.org.app.repository.jdbc.JdbcLabelRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcTransactionManagerTest {
+
+    private ConnectionPool pool;
+    private JdbcTransactionManager transactionManager;
+    private JdbcLabelRepositoryImpl repository;
+
+    @BeforeEach
+    void setup() {
+        pool = TestDatabase.createPool(2);
+        transactionManager = new JdbcTransactionManager(pool);
+        repository = new JdbcLabelRepositoryImpl(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testWorkSharesOneConnection() {
+        transactionManager.inTransaction(() -> {
+            try (Connection first = transactionManager.getConnection();
+                 Connection second = transactionManager.getReadConnection()) {
+                assertSame(first.unwrap(Connection.class), second.unwrap(Connection.class));
+                assertFalse(first.getAutoCommit());
+                assertEquals(1, pool.getActiveCount());
+            } catch (Exception e) {
+                fail(e);
+            }
+        });
+
+        assertFalse(transactionManager.isInTransaction());
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void testCommitsOnce() {
+        Label saved = transactionManager.inTransaction(() -> {
+            Label label = repository.save(new Label(null, "first"));
+            repository.update(new Label(label.getId(), "renamed"));
+            return label;
+        });
+
+        assertEquals("renamed", repository.getById(saved.getId()).getName());
+    }
+
+    @Test
+    void testRollsBackOnFailure() {
+        assertThrows(IllegalStateException.class, () -> transactionManager.inTransaction(() -> {
+            repository.save(new Label(null, "discarded"));
+            throw new IllegalStateException("boom");
+        }));
+
+        assertTrue(repository.getAll().isEmpty());
+    }
+
+    @Test
+    void testNestedCallsJoinOuterTransaction() {
+        assertThrows(IllegalStateException.class, () -> transactionManager.inTransaction(() -> {
+            transactionManager.inTransaction(() -> repository.save(new Label(null, "inner")));
+            throw new IllegalStateException("boom");
+        }));
+
+        assertTrue(repository.getAll().isEmpty());
+    }
+
+    @Test
+    void testAfterCommitActionsRunOnceOuterTransactionCommits() {
+        List<String> events = new ArrayList<>();
+        transactionManager.inTransaction(() -> {
+            transactionManager.inTransaction(() -> transactionManager.afterCommit(() -> events.add("inner")));
+            transactionManager.afterCommit(() -> events.add("outer"));
+            assertTrue(events.isEmpty());
+        });
+        assertEquals(List.of("inner", "outer"), events);
+
+        assertThrows(IllegalStateException.class, () -> transactionManager.inTransaction(() -> {
+            transactionManager.afterCommit(() -> events.add("discarded"));
+            throw new IllegalStateException("boom");
+        }));
+        transactionManager.afterCommit(() -> events.add("immediate"));
+        assertEquals(List.of("inner", "outer", "immediate"), events);
+    }
+}
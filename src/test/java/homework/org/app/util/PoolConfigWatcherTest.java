@@ -0,0 +1,66 @@
+package homework.org.app.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PoolConfigWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private ConnectionPool pool;
+    private PoolConfigWatcher watcher;
+
+    @AfterEach
+    void tearDown() {
+        if (watcher != null) {
+            watcher.close();
+        }
+        if (pool != null) {
+            pool.close();
+        }
+        PropertiesUtil.reload(null);
+    }
+
+    @Test
+    void testPoolIsResizedWhenFileChanges() throws Exception {
+        Path configFile = directory.resolve("pool.properties");
+        Files.writeString(configFile, "db.pool.max=2\n");
+        pool = new ConnectionPool(TestDatabase.config(2));
+        watcher = new PoolConfigWatcher(configFile, List.of(pool)).start();
+
+        Files.writeString(configFile, "db.pool.min=1\ndb.pool.max=6\ndb.pool.borrowTimeoutMs=750\n");
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.getConfig().getMaxPoolSize() != 6 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(6, pool.getConfig().getMaxPoolSize());
+        assertEquals(1, pool.getConfig().getMinPoolSize());
+        assertEquals(750, pool.getConfig().getBorrowTimeoutMs());
+    }
+
+    @Test
+    void testBlankSettingsFallBackToDefaults() throws Exception {
+        Path configFile = directory.resolve("blank.properties");
+        Files.writeString(configFile, "db.pool.max=\ndb.pool.borrowTimeoutMs= \ndb.lane.scan.capacity=\n"
+                + "db.lane.scan.maxWaitMs=\ndb.batch.chunkSize=\n");
+        PropertiesUtil.reload(configFile);
+
+        PoolConfig poolConfig = PoolConfig.fromProperties();
+        LaneConfig scan = LaneConfig.fromProperties(Lane.SCAN);
+
+        assertEquals(new PoolConfig().getMaxPoolSize(), poolConfig.getMaxPoolSize());
+        assertEquals(new PoolConfig().getBorrowTimeoutMs(), poolConfig.getBorrowTimeoutMs());
+        assertEquals(1, scan.getCapacity());
+        assertEquals(new LaneConfig().getMaxWaitMs(), scan.getMaxWaitMs());
+        assertEquals(7, PropertiesUtil.getInt("db.batch.chunkSize", 7));
+    }
+}
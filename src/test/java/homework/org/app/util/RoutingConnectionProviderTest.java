@@ -0,0 +1,82 @@
+package homework.org.app.util;
+
+import homework.org.app.model.Label;
+import homework.org.app.repository.jdbc.JdbcLabelRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingConnectionProviderTest {
+
+    private ConnectionPool primary;
+    private ConnectionPool replica;
+    private RoutingConnectionProvider provider;
+
+    @BeforeEach
+    void setup() throws Exception {
+        primary = TestDatabase.createPool(2);
+        replica = TestDatabase.createPool(2);
+        provider = new RoutingConnectionProvider(primary, List.of(replica), ReplicaSelection.ROUND_ROBIN);
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO label (name) VALUES (?)")) {
+            statement.setString(1, "replica");
+            statement.executeUpdate();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    void testReadsGoToReplicaAndWritesToPrimary() {
+        JdbcLabelRepositoryImpl repository = new JdbcLabelRepositoryImpl(provider);
+
+        Label saved = repository.save(new Label(null, "primary"));
+
+        assertEquals(List.of("replica"), repository.getAll().stream().map(Label::getName).toList());
+        assertEquals("replica", repository.getById(saved.getId()).getName());
+    }
+
+    @Test
+    void testReadsInsideTransactionStayOnPrimary() throws Exception {
+        try (Connection connection = provider.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO label (name) VALUES (?)")) {
+                statement.setString(1, "uncommitted");
+                statement.executeUpdate();
+            }
+            try (Connection read = provider.getReadConnection();
+                 PreparedStatement statement = read.prepareStatement("SELECT name FROM label");
+                 ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertEquals("uncommitted", resultSet.getString("name"));
+            }
+            assertFalse(connection.isClosed());
+            connection.rollback();
+        }
+
+        try (Connection read = provider.getReadConnection()) {
+            assertTrue(read.getMetaData().getURL().endsWith(replica.getConfig().getPoolName()));
+        }
+    }
+
+    @Test
+    void testLeastBusySelectionSkipsSaturatedReplica() throws Exception {
+        ConnectionPool secondReplica = TestDatabase.createPool(2);
+        try (RoutingConnectionProvider leastBusy = new RoutingConnectionProvider(primary,
+                List.of(replica, secondReplica), ReplicaSelection.LEAST_BUSY);
+             Connection busy = replica.getConnection();
+             Connection read = leastBusy.getReadConnection()) {
+            assertTrue(read.getMetaData().getURL().endsWith(secondReplica.getConfig().getPoolName()));
+        }
+    }
+}
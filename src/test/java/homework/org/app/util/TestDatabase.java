@@ -0,0 +1,66 @@
+package homework.org.app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class TestDatabase {
+
+    private static final List<String> SCHEMA_CHANGELOGS = List.of(
+            "db/changelog/db.changelog-1.0.sql",
+            "db/changelog/db.changelog-3.0.sql");
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private TestDatabase() {
+    }
+
+    public static PoolConfig config(int poolSize) {
+        PoolConfig config = new PoolConfig();
+        config.setPoolName("test-" + COUNTER.incrementAndGet());
+        config.setUrl("jdbc:h2:mem:" + config.getPoolName() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaxPoolSize(poolSize);
+        config.setMinPoolSize(poolSize);
+        config.setLeakThresholdMs(0);
+        return config;
+    }
+
+    public static ConnectionPool createPool(int poolSize) {
+        ConnectionPool pool = new ConnectionPool(config(poolSize));
+        applySchema(pool);
+        return pool;
+    }
+
+    public static void applySchema(ConnectionProvider provider) {
+        for (String changelog : SCHEMA_CHANGELOGS) {
+            applyChangelog(provider, changelog);
+        }
+    }
+
+    private static void applyChangelog(ConnectionProvider provider, String resource) {
+        try (InputStream inputStream = TestDatabase.class.getClassLoader().getResourceAsStream(resource);
+             Connection connection = provider.getConnection();
+             Statement statement = connection.createStatement()) {
+            String changelog = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            StringBuilder sql = new StringBuilder();
+            for (String line : changelog.split("\n")) {
+                if (!line.startsWith("--") && !line.trim().equals("/")) {
+                    sql.append(line).append('\n');
+                }
+            }
+            for (String ddl : sql.toString().split(";")) {
+                if (!ddl.isBlank()) {
+                    statement.execute(ddl);
+                }
+            }
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("Failed to apply test schema " + resource, e);
+        }
+    }
+}